@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Measures how quickly the application answers its first request, for the artifacts of the production Maven profile:
+#   jar     the plain jar, without AOT initializers or CDS archive
+#   cds     the plain jar with the Spring AOT initializers and the AppCDS archive
+#   native  the GraalVM native image
+# Each run starts the application, sends the same analysis request until it is answered, and stops the application.
+# Prints the median time from launch to the first response and the median latency of that response.
+#
+# Usage: scripts/measure-startup.sh [jar|cds|native] [runs]   (build first with ./mvnw -Pproduction package)
+# PORT and CONTEXT_PATH default to 18080 and the /api of server.servlet.context-path.
+set -euo pipefail
+
+MODE="${1:-cds}"
+RUNS="${2:-10}"
+PORT="${PORT:-18080}"
+CONTEXT_PATH="${CONTEXT_PATH:-/api}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/word_count-*.jar | grep -v -- '-exec.jar' | head -n 1)"
+
+case "$MODE" in
+  jar)    COMMAND=(java --add-modules jdk.incubator.vector -jar "$JAR") ;;
+  cds)    COMMAND=(java -XX:SharedArchiveFile="$TARGET/word_count.jsa" --add-modules jdk.incubator.vector
+                   -Dspring.aot.enabled=true -Dspring.profiles.active=production -jar "$JAR") ;;
+  native) COMMAND=("$TARGET/word_count" -Dspring.profiles.active=production) ;;
+  *)      echo "Usage: $0 [jar|cds|native] [runs]" >&2; exit 2 ;;
+esac
+
+TEXT="$(for i in $(seq 1 200); do printf 'The quick brown fox %d jumps over the lazy dog. ' $((i % 17)); done)"
+URL="http://localhost:$PORT$CONTEXT_PATH/wordcount/word-frequency?n=5"
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+READY=()
+LATENCY=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  "${COMMAND[@]}" --server.port="$PORT" > /dev/null 2>&1 &
+  pid=$!
+  until latency=$(curl -sf -o /dev/null -w '%{time_total}' -H 'Content-Type: text/plain' --data-binary "$TEXT" "$URL"); do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "The application exited before answering, run it as: ${COMMAND[*]}" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  READY+=("$(( (end - start) / 1000000 ))")
+  LATENCY+=("$(awk -v seconds="$latency" 'BEGIN { printf "%.1f", seconds * 1000 }')")
+  echo "run $run: first response after ${READY[-1]} ms, latency ${LATENCY[-1]} ms"
+done
+
+echo "$MODE: median first response after $(printf '%s\n' "${READY[@]}" | median) ms," \
+     "median first request latency $(printf '%s\n' "${LATENCY[@]}" | median) ms over $RUNS runs"
@@ -0,0 +1,73 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible benchmark texts.
+ * <p>
+ * Word ranks are drawn from a Zipf-like distribution, so a few words are very frequent and most are rare, as in
+ * natural text. The same length, vocabulary and seed always produce the same text.
+ */
+public final class Corpus {
+
+    /** The number of distinct words a text may draw from. */
+    public enum Vocabulary {
+        /** About a thousand distinct words, most of which occur many times. */
+        LOW(1_000),
+        /** Up to ten million distinct words, so a large text consists mostly of words that occur once. */
+        HIGH(10_000_000);
+
+        private final int size;
+
+        Vocabulary(int size) {
+            this.size = size;
+        }
+    }
+
+    private static final long SEED = 0x5EEDL;
+    private static final String DELIMITERS = "  \n,.;:!?-'\"()";
+
+    private Corpus() {
+    }
+
+    /**
+     * @param length     the length of the text, in characters
+     * @param vocabulary the number of distinct words to draw from
+     * @return a text of exactly the given length
+     */
+    public static String generate(int length, Vocabulary vocabulary) {
+        Random random = new Random(SEED);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            int rank = (int) Math.pow(vocabulary.size + 1, random.nextDouble()) - 1;
+            appendWord(text, rank, random.nextInt(16) == 0);
+            text.append(random.nextInt(4) == 0 ? DELIMITERS.charAt(random.nextInt(DELIMITERS.length())) : ' ');
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    /**
+     * @return the most frequent word of every generated text, in lower case
+     */
+    public static String mostFrequentWord() {
+        StringBuilder word = new StringBuilder();
+        appendWord(word, 0, false);
+        return word.toString();
+    }
+
+    /**
+     * Spell a rank in base 26, so every rank is a distinct word of letters only.
+     */
+    private static void appendWord(StringBuilder text, int rank, boolean capitalized) {
+        int start = text.length();
+        do {
+            text.append((char) ('a' + rank % 26));
+            rank /= 26;
+        } while (rank > 0);
+        text.append("e");
+        if (capitalized) {
+            text.setCharAt(start, Character.toUpperCase(text.charAt(start)));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.model.PhraseFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the selection of the most frequent bigrams on generated texts from 1 KB to 100 MB. Phrases are only
+ * counted exactly, so unlike {@link WordFrequencyAnalyzerBenchmark} this benchmark has no analysis mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PhraseFrequencyAnalyzerBenchmark {
+
+    @Param({"1024", "65536", "1048576", "16777216", "104857600"})
+    private int textLength;
+
+    @Param({"LOW", "HIGH"})
+    private Corpus.Vocabulary vocabulary;
+
+    @Param({"1"})
+    private int parallelism;
+
+    @Param({"10", "10000"})
+    private int n;
+
+    private String text;
+    private ParallelWordCounter parallelWordCounter;
+    private PhraseFrequencyAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+        text = Corpus.generate(textLength, vocabulary);
+        parallelWordCounter = new ParallelWordCounter(1048576, parallelism);
+        analyzer = new WordFrequencyAnalyzerImpl(parallelWordCounter, new HistogramCache(false, 0, 0),
+                new AnalyzerMetrics(new SimpleMeterRegistry()), new SampledDebugLog(0, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelWordCounter.shutdown();
+    }
+
+    @Benchmark
+    public List<WordFrequency> calculateMostFrequentNBigrams() {
+        return analyzer.calculateMostFrequentNPhrases(text, 2, n);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.approximate.ApproximateWordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the three analyzer operations on generated texts from 1 KB to 100 MB.
+ * <p>
+ * The histogram cache is disabled, so every invocation counts the text again. Texts are counted on the calling
+ * thread unless {@code -p parallelism=0} (one thread per processor) or another thread count is given.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WordFrequencyAnalyzerBenchmark {
+
+    @Param({"1024", "65536", "1048576", "16777216", "104857600"})
+    private int textLength;
+
+    @Param({"LOW", "HIGH"})
+    private Corpus.Vocabulary vocabulary;
+
+    @Param({"EXACT", "APPROXIMATE"})
+    private AnalysisMode mode;
+
+    @Param({"1"})
+    private int parallelism;
+
+    private String text;
+    private String word;
+    private ParallelWordCounter parallelWordCounter;
+    private WordFrequencyAnalyzer analyzer;
+
+    /** The number of words to select; only varied for the top-N benchmarks. */
+    @State(Scope.Benchmark)
+    public static class TopN {
+        @Param({"10", "10000"})
+        private int n;
+    }
+
+    @Setup
+    public void setup() {
+        text = Corpus.generate(textLength, vocabulary);
+        word = Corpus.mostFrequentWord();
+        parallelWordCounter = new ParallelWordCounter(1048576, parallelism);
+        AnalyzerMetrics metrics = new AnalyzerMetrics(new SimpleMeterRegistry());
+        SampledDebugLog debugLog = new SampledDebugLog(0, 0);
+        analyzer = mode == AnalysisMode.APPROXIMATE
+                ? new ApproximateWordFrequencyAnalyzer(16384, 4, 10000, metrics, debugLog)
+                : new WordFrequencyAnalyzerImpl(parallelWordCounter, new HistogramCache(false, 0, 0), metrics, debugLog);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelWordCounter.shutdown();
+    }
+
+    @Benchmark
+    public int calculateHighestFrequency() {
+        return analyzer.calculateHighestFrequency(text);
+    }
+
+    @Benchmark
+    public int calculateFrequencyForWord() {
+        return analyzer.calculateFrequencyForWord(text, word);
+    }
+
+    @Benchmark
+    public List<WordFrequency> calculateMostFrequentNWords(TopN topN) {
+        return analyzer.calculateMostFrequentNWords(text, topN.n);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tokenization alone, and tokenization into a count table, on generated texts from 1 KB to 100 MB.
+ * The vectorized runs need the Vector API module, which the benchmark profile adds; they use the scalar loop otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WordTokenizerBenchmark {
+
+    @Param({"1024", "65536", "1048576", "16777216", "104857600"})
+    private int textLength;
+
+    @Param({"LOW", "HIGH"})
+    private Corpus.Vocabulary vocabulary;
+
+    @Param({"true", "false"})
+    private boolean vectorized;
+
+    private WordMasks masks;
+    private String text;
+    private ByteBuffer utf8;
+
+    /** Sums word lengths, so the tokenizer output is consumed without allocating. */
+    private static final class LengthSink implements WordSink {
+        private long total;
+
+        @Override
+        public void accept(byte[] word, int offset, int length) {
+            total += length;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        text = Corpus.generate(textLength, vocabulary);
+        utf8 = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        masks = vectorized ? WordMasks.vectorized() : null;
+    }
+
+    @Benchmark
+    public long tokenizeString() {
+        LengthSink sink = new LengthSink();
+        WordTokenizer tokenizer = new WordTokenizer(sink, true, masks);
+        tokenizer.feed(text, 0, text.length());
+        tokenizer.finish();
+        return sink.total;
+    }
+
+    @Benchmark
+    public long tokenizeUtf8() {
+        LengthSink sink = new LengthSink();
+        WordTokenizer tokenizer = new WordTokenizer(sink, true, masks);
+        tokenizer.feed(utf8);
+        tokenizer.finish();
+        return sink.total;
+    }
+
+    @Benchmark
+    public WordCountTable countWords() {
+        WordCountTable table = new WordCountTable();
+        WordTokenizer tokenizer = new WordTokenizer(table, true, masks);
+        tokenizer.feed(text, 0, text.length());
+        tokenizer.finish();
+        return table;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.index.DocumentIndexRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * REST Controller for documents that are indexed once and queried many times.
+ * The word counts of a registered document are stored on disk, so later queries neither resend nor recount it.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/wordcount/documents")
+@Validated
+public class DocumentIndexController {
+    private final DocumentIndexRegistry documentIndexRegistry;
+
+    /**
+     * Constructs a DocumentIndexController.
+     *
+     * @param documentIndexRegistry the registry holding the document indexes
+     */
+    public DocumentIndexController(DocumentIndexRegistry documentIndexRegistry) {
+        this.documentIndexRegistry = documentIndexRegistry;
+    }
+
+    /**
+     * Indexes a document sent as the request body, replacing any previous version of the document.
+     *
+     * @param id      the identifier of the document
+     * @param request the request whose body is the document
+     * @return ResponseEntity with the identifier of the document and its location
+     * @throws IOException if the request body can not be read or the index can not be written
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> putDocument(@PathVariable String id, HttpServletRequest request) throws IOException {
+        documentIndexRegistry.put(id, RequestBodies.wordSource(request));
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+        return ResponseEntity.created(location).body(id);
+    }
+
+    /**
+     * Retrieves the highest frequency of any word in a document.
+     *
+     * @param id the identifier of the document
+     * @return ResponseEntity with the highest frequency as an integer
+     * @throws IOException if the index can not be read
+     */
+    @GetMapping("/{id}/highest-frequency")
+    public ResponseEntity<Integer> getHighestFrequency(@PathVariable String id) throws IOException {
+        return ResponseEntity.ok(documentIndexRegistry.get(id).highestFrequency());
+    }
+
+    /**
+     * Retrieves the frequency of a specific word in a document.
+     *
+     * @param id   the identifier of the document
+     * @param word the word to count, must not be blank
+     * @return ResponseEntity with the frequency of the specified word as an integer
+     * @throws IOException if the index can not be read
+     */
+    @GetMapping("/{id}/frequency")
+    public ResponseEntity<Integer> getFrequencyForWord(@PathVariable String id,
+                                                       @RequestParam @NotBlank String word) throws IOException {
+        return ResponseEntity.ok(documentIndexRegistry.get(id).frequency(word));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words in a document.
+     *
+     * @param id the identifier of the document
+     * @param n  the number of top frequent words to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
+     * @throws IOException if the index can not be read
+     */
+    @GetMapping("/{id}/word-frequency")
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNWords(@PathVariable String id,
+                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) throws IOException {
+        return ResponseEntity.ok(documentIndexRegistry.get(id).mostFrequentNWords(n));
+    }
+
+    /**
+     * Removes the index of a document.
+     *
+     * @param id the identifier of the document
+     * @return an empty ResponseEntity
+     * @throws IOException if the index can not be deleted
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDocument(@PathVariable String id) throws IOException {
+        documentIndexRegistry.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.admission.InputSizeEstimator;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * REST Controller for word frequency operations on files stored on the service host.
+ * Only files and directories inside the configured root directory ({@code wordcount.files.root}) can be analyzed;
+ * the endpoints are disabled when no root is configured.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/wordcount/files")
+@Validated
+public class FileWordFrequencyController implements InputSizeEstimator {
+    private final WordFrequencyAnalyzer wordFrequencyAnalyzer;
+    private final Path root;
+
+    /**
+     * Constructs a FileWordFrequencyController.
+     *
+     * @param wordFrequencyAnalyzer the word frequency analyzer to use for computations
+     * @param root                  the directory containing the files that may be analyzed, or empty to disable file analysis
+     */
+    public FileWordFrequencyController(WordFrequencyAnalyzer wordFrequencyAnalyzer,
+                                       @Value("${wordcount.files.root:}") String root) {
+        this.wordFrequencyAnalyzer = wordFrequencyAnalyzer;
+        this.root = root.isBlank() ? null : Path.of(root).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Retrieves the highest frequency of any word in a file, or in all files of a directory.
+     *
+     * @param path the file or directory to analyze, relative to the root directory
+     * @return ResponseEntity with the highest frequency as an integer
+     * @throws IOException if the path is outside the root directory or can not be read
+     */
+    @GetMapping("/highest-frequency")
+    public ResponseEntity<Integer> getHighestFrequency(@RequestParam @NotBlank String path) throws IOException {
+        int highestFrequency = wordFrequencyAnalyzer.calculateHighestFrequency(resolve(path));
+        return ResponseEntity.ok(highestFrequency);
+    }
+
+    /**
+     * Retrieves the frequency of a specific word in a file, or in all files of a directory.
+     *
+     * @param path the file or directory to analyze, relative to the root directory
+     * @param word the word to count, must not be blank
+     * @return ResponseEntity with the frequency of the specified word as an integer
+     * @throws IOException if the path is outside the root directory or can not be read
+     */
+    @GetMapping("/frequency")
+    public ResponseEntity<Integer> getFrequencyForWord(@RequestParam @NotBlank String path,
+                                                       @RequestParam @NotBlank String word) throws IOException {
+        int frequency = wordFrequencyAnalyzer.calculateFrequencyForWord(resolve(path), word);
+        return ResponseEntity.ok(frequency);
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words in a file, or in all files of a directory.
+     *
+     * @param path the file or directory to analyze, relative to the root directory
+     * @param n    the number of top frequent words to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
+     * @throws IOException if the path is outside the root directory or can not be read
+     */
+    @GetMapping("/word-frequency")
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNWords(@RequestParam @NotBlank String path,
+                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) throws IOException {
+        List<WordFrequency> frequentWords = wordFrequencyAnalyzer.calculateMostFrequentNWords(resolve(path), n);
+        return ResponseEntity.ok(frequentWords);
+    }
+
+    /**
+     * Charges a request the size of the file, or the total size of the files in the directory, it analyzes.
+     *
+     * @param request the request to be handled
+     * @return the number of bytes to analyze, or 0 if the path can not be analyzed
+     */
+    @Override
+    public long inputBytes(HttpServletRequest request) {
+        String path = request.getParameter("path");
+        if (path == null || path.isBlank()) {
+            return 0;
+        }
+        try {
+            return WordSources.sizeOfTree(resolve(path));
+        } catch (IOException e) {
+            // The request fails with the same error when it is handled
+            return 0;
+        }
+    }
+
+    /**
+     * Resolve a path against the root directory, following symbolic links, and make sure it stays inside the root.
+     * A path outside the root is reported as not found, checked before the file system is accessed, so that the
+     * answer does not reveal which files exist outside the root.
+     */
+    private Path resolve(String path) throws IOException {
+        if (root == null) {
+            throw new AccessDeniedException(path, null, "File analysis is disabled");
+        }
+        Path normalized = root.resolve(path).normalize();
+        if (!normalized.startsWith(root)) {
+            throw new NoSuchFileException(path);
+        }
+        Path resolved;
+        try {
+            resolved = normalized.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new NoSuchFileException(path);
+        }
+        // A symbolic link inside the root may still point outside of it
+        if (!resolved.startsWith(root.toRealPath())) {
+            throw new NoSuchFileException(path);
+        }
+        return resolved;
+    }
+}
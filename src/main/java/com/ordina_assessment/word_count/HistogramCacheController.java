@@ -0,0 +1,36 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCacheStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller exposing the counters of the histogram cache.
+ */
+@RestController
+@RequestMapping("/wordcount/cache")
+public class HistogramCacheController {
+    private final HistogramCache histogramCache;
+
+    /**
+     * Constructs a HistogramCacheController.
+     *
+     * @param histogramCache the cache to report on
+     */
+    public HistogramCacheController(HistogramCache histogramCache) {
+        this.histogramCache = histogramCache;
+    }
+
+    /**
+     * Retrieves the hit, miss, coalescing and eviction counters and the current size of the cache.
+     *
+     * @return ResponseEntity with the {@link HistogramCacheStats}
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<HistogramCacheStats> getStats() {
+        return ResponseEntity.ok(histogramCache.stats());
+    }
+}
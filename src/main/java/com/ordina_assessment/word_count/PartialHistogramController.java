@@ -0,0 +1,40 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.distributed.PartialHistogram;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller returning the word counts of a shard of a larger text in a compact, mergeable form.
+ * A coordinator running the distributed analysis mode sends its shards here.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/wordcount")
+public class PartialHistogramController {
+
+    /**
+     * Counts the words of a text shard sent as the request body.
+     *
+     * @param request       the request whose body is the shard to count
+     * @param documentStart whether the shard starts the text, which makes a leading delimiter count as an empty word
+     * @return ResponseEntity with the encoded {@link PartialHistogram} of the shard
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/partial-histogram", consumes = MediaType.TEXT_PLAIN_VALUE, produces = PartialHistogram.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getPartialHistogram(HttpServletRequest request,
+                                                      @RequestParam(defaultValue = "true") boolean documentStart) throws IOException {
+        WordCountTable wordCounts = new WordCountTable();
+        RequestBodies.wordSource(request, documentStart).forEachWord(wordCounts);
+        return ResponseEntity.ok(PartialHistogram.encode(wordCounts));
+    }
+}
@@ -0,0 +1,354 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.PhraseFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reactive REST Controller for word frequency operations, used instead of {@link WordFrequencyController} when the
+ * application runs as a reactive web application ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * Request bodies are consumed as a stream of buffers, and every buffer is tokenized as soon as it arrives and
+ * released right after, so a slow upload holds neither a thread nor the whole text. Bodies are read as UTF-8.
+ * Analyses that may wait, for the peers in the distributed mode, or for a coalesced cache entry or the threads of a
+ * parallel count in the exact mode, run on the bounded elastic scheduler instead of the event loop.
+ * Paths, parameters and responses are the same as those of {@link WordFrequencyController}.
+ */
+@RestController
+@RequestMapping("/wordcount")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWordFrequencyController {
+    private final WordFrequencyAnalyzer wordFrequencyAnalyzer;
+    private final WordFrequencyAnalyzer approximateWordFrequencyAnalyzer;
+    private final WordFrequencyAnalyzer distributedWordFrequencyAnalyzer;
+    private final PhraseFrequencyAnalyzer phraseFrequencyAnalyzer;
+
+    /**
+     * Constructs a ReactiveWordFrequencyController with the necessary word frequency analyzers.
+     *
+     * @param wordFrequencyAnalyzer            the word frequency analyzer to use for exact computations
+     * @param approximateWordFrequencyAnalyzer the word frequency analyzer to use for approximate computations
+     * @param distributedWordFrequencyAnalyzer the word frequency analyzer to use for computations on peer instances
+     * @param phraseFrequencyAnalyzer          the phrase frequency analyzer, which counts phrases exactly
+     */
+    public ReactiveWordFrequencyController(WordFrequencyAnalyzer wordFrequencyAnalyzer,
+                                           @Qualifier("approximateWordFrequencyAnalyzer") WordFrequencyAnalyzer approximateWordFrequencyAnalyzer,
+                                           @Qualifier("distributedWordFrequencyAnalyzer") WordFrequencyAnalyzer distributedWordFrequencyAnalyzer,
+                                           PhraseFrequencyAnalyzer phraseFrequencyAnalyzer) {
+        this.wordFrequencyAnalyzer = wordFrequencyAnalyzer;
+        this.approximateWordFrequencyAnalyzer = approximateWordFrequencyAnalyzer;
+        this.distributedWordFrequencyAnalyzer = distributedWordFrequencyAnalyzer;
+        this.phraseFrequencyAnalyzer = phraseFrequencyAnalyzer;
+    }
+
+    /**
+     * Retrieves the highest frequency of any word in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the highest frequency as an integer
+     */
+    @GetMapping("/highest-frequency")
+    public Mono<ResponseEntity<Integer>> getHighestFrequency(@RequestParam @NotBlank String text,
+                                                             @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return respond(mode, text, analyzer -> analyzer.calculateHighestFrequency(text));
+    }
+
+    /**
+     * Retrieves the frequency of a specific word in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param word the word to count within the text, must not be blank
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the frequency of the specified word as an integer
+     */
+    @GetMapping("/frequency")
+    public Mono<ResponseEntity<Integer>> getFrequencyForWord(@RequestParam @NotBlank String text,
+                                                             @RequestParam @NotBlank String word,
+                                                             @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return respond(mode, text, analyzer -> analyzer.calculateFrequencyForWord(text, word));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param n    the number of top frequent words to retrieve, must be a positive integer
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
+     */
+    @GetMapping("/word-frequency")
+    public Mono<ResponseEntity<List<WordFrequency>>> getMostFrequentNWords(@RequestParam @NotBlank String text,
+                                                                           @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                                           @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return respond(mode, text, analyzer -> analyzer.calculateMostFrequentNWords(text, n));
+    }
+
+    /**
+     * Retrieves the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of a given text.
+     *
+     * @param text  the text to analyze, must not be blank
+     * @param words the words to count within the text, may be omitted
+     * @param n     the number of top frequent words to retrieve, must be a positive integer
+     * @param mode  whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the combined {@link WordFrequencyAnalysis}
+     */
+    @GetMapping("/analyze")
+    public Mono<ResponseEntity<WordFrequencyAnalysis>> analyze(@RequestParam @NotBlank String text,
+                                                               @RequestParam(defaultValue = "") List<String> words,
+                                                               @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                               @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return respond(mode, text, analyzer -> analyzer.analyze(text, words, n));
+    }
+
+    /**
+     * Retrieves the highest frequency of any word in a text streamed as the request body.
+     *
+     * @param body the text to analyze, must not be blank
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the highest frequency as an integer, once the body is complete
+     */
+    @PostMapping(value = "/highest-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<Integer>> getHighestFrequencyFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                     @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return tokenize(body, mode).map(analysis -> ResponseEntity.ok(analysis.highestFrequency()));
+    }
+
+    /**
+     * Retrieves the frequency of a specific word in a text streamed as the request body.
+     *
+     * @param body the text to analyze, must not be blank
+     * @param word the word to count within the text, must not be blank
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the frequency of the specified word as an integer, once the body is complete
+     */
+    @PostMapping(value = "/frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<Integer>> getFrequencyForWordFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                     @RequestParam @NotBlank String word,
+                                                                     @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return tokenize(body, mode).map(analysis -> ResponseEntity.ok(analysis.frequency(word)));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words in a text streamed as the request body.
+     *
+     * @param body the text to analyze, must not be blank
+     * @param n    the number of top frequent words to retrieve, must be a positive integer
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with a list of {@link WordFrequency} instances, once the body is complete
+     */
+    @PostMapping(value = "/word-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<List<WordFrequency>>> getMostFrequentNWordsFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                                   @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                                                   @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return tokenize(body, mode).map(analysis -> ResponseEntity.ok(analysis.mostFrequentWords(n)));
+    }
+
+    /**
+     * Retrieves the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of a text streamed as the request body.
+     *
+     * @param body  the text to analyze, must not be blank
+     * @param words the words to count within the text, may be omitted
+     * @param n     the number of top frequent words to retrieve, must be a positive integer
+     * @param mode  whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the combined {@link WordFrequencyAnalysis}, once the body is complete
+     */
+    @PostMapping(value = "/analyze", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<WordFrequencyAnalysis>> analyzeBody(@RequestBody Flux<DataBuffer> body,
+                                                                   @RequestParam(defaultValue = "") List<String> words,
+                                                                   @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                                   @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        return tokenize(body, mode).map(analysis -> ResponseEntity.ok(analysis.analysis(words, n)));
+    }
+
+    /**
+     * Retrieves the highest frequency of any phrase of consecutive words in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @return ResponseEntity with the highest phrase frequency as an integer
+     */
+    @GetMapping("/phrases/highest-frequency")
+    public Mono<ResponseEntity<Integer>> getHighestPhraseFrequency(@RequestParam @NotBlank String text,
+                                                                   @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(phraseFrequencyAnalyzer.calculateHighestPhraseFrequency(text, size)));
+    }
+
+    /**
+     * Retrieves the frequency of a specific phrase in a given text.
+     *
+     * @param text   the text to analyze, must not be blank
+     * @param phrase the phrase to count within the text, must have 'size' words
+     * @param size   the number of words in the phrase, 2 by default
+     * @return ResponseEntity with the frequency of the specified phrase as an integer
+     */
+    @GetMapping("/phrases/frequency")
+    public Mono<ResponseEntity<Integer>> getFrequencyForPhrase(@RequestParam @NotBlank String text,
+                                                               @RequestParam @NotBlank String phrase,
+                                                               @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(phraseFrequencyAnalyzer.calculateFrequencyForPhrase(text, phrase, size)));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' phrases of consecutive words in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @param n    the number of top frequent phrases to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent phrases
+     */
+    @GetMapping("/phrases/phrase-frequency")
+    public Mono<ResponseEntity<List<WordFrequency>>> getMostFrequentNPhrases(@RequestParam @NotBlank String text,
+                                                                             @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size,
+                                                                             @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(phraseFrequencyAnalyzer.calculateMostFrequentNPhrases(text, size, n)));
+    }
+
+    /**
+     * Retrieves the highest frequency of any phrase of consecutive words in a text streamed as the request body.
+     *
+     * @param body the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @return ResponseEntity with the highest phrase frequency as an integer, once the body is complete
+     */
+    @PostMapping(value = "/phrases/highest-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<Integer>> getHighestPhraseFrequencyFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                           @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        return tokenize(body, AnalysisMode.EXACT, () -> phraseFrequencyAnalyzer.startPhraseAnalysis(size))
+                .map(analysis -> ResponseEntity.ok(analysis.highestFrequency()));
+    }
+
+    /**
+     * Retrieves the frequency of a specific phrase in a text streamed as the request body.
+     *
+     * @param body   the text to analyze, must not be blank
+     * @param phrase the phrase to count within the text, must have 'size' words
+     * @param size   the number of words in the phrase, 2 by default
+     * @return ResponseEntity with the frequency of the specified phrase as an integer, once the body is complete
+     */
+    @PostMapping(value = "/phrases/frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<Integer>> getFrequencyForPhraseFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                       @RequestParam @NotBlank String phrase,
+                                                                       @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        return tokenize(body, AnalysisMode.EXACT, () -> phraseFrequencyAnalyzer.startPhraseAnalysis(size))
+                .map(analysis -> ResponseEntity.ok(analysis.frequency(phrase)));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' phrases of consecutive words in a text streamed as the request body.
+     *
+     * @param body the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @param n    the number of top frequent phrases to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances, once the body is complete
+     */
+    @PostMapping(value = "/phrases/phrase-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<List<WordFrequency>>> getMostFrequentNPhrasesFromBody(@RequestBody Flux<DataBuffer> body,
+                                                                                     @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size,
+                                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) {
+        return tokenize(body, AnalysisMode.EXACT, () -> phraseFrequencyAnalyzer.startPhraseAnalysis(size))
+                .map(analysis -> ResponseEntity.ok(analysis.mostFrequentWords(n)));
+    }
+
+    /**
+     * Answer a query about a text with the analyzer of the given mode, off the event loop if the analyzer may wait
+     * while it analyzes the text.
+     */
+    private <T> Mono<ResponseEntity<T>> respond(AnalysisMode mode, String text, Function<WordFrequencyAnalyzer, T> query) {
+        WordFrequencyAnalyzer analyzer = analyzer(mode);
+        Mono<ResponseEntity<T>> response = Mono.fromCallable(() -> ResponseEntity.ok(query.apply(analyzer)));
+        return analyzer.mayBlock(text) ? response.subscribeOn(Schedulers.boundedElastic()) : response;
+    }
+
+    private Mono<IncrementalAnalysis> tokenize(Flux<DataBuffer> body, AnalysisMode mode) {
+        return tokenize(body, mode, () -> analyzer(mode).startAnalysis());
+    }
+
+    /**
+     * Feed every buffer of the body to a new analysis as it arrives, and emit the analysis when the body is complete.
+     * A body without any text is rejected like a blank text parameter. If the analyzer blocks, the buffers are
+     * handed one at a time to a bounded elastic thread, so the upload waits for the analyzer instead of the event loop.
+     */
+    private Mono<IncrementalAnalysis> tokenize(Flux<DataBuffer> body, AnalysisMode mode,
+                                               Supplier<IncrementalAnalysis> start) {
+        Flux<DataBuffer> buffers = blocks(mode)
+                ? body.publishOn(Schedulers.boundedElastic(), 1).doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                : body;
+        return Mono.defer(() -> {
+            IncrementalAnalysis analysis = start.get();
+            AtomicBoolean text = new AtomicBoolean();
+            return buffers.doOnNext(buffer -> {
+                try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+                    byteBuffers.forEachRemaining(byteBuffer -> {
+                        if (!text.get() && containsText(byteBuffer)) {
+                            text.set(true);
+                        }
+                        analysis.feed(byteBuffer);
+                    });
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            }).then(Mono.fromCallable(() -> {
+                if (!text.get()) {
+                    throw new IllegalArgumentException("The request body must not be blank");
+                }
+                analysis.finish();
+                return analysis;
+            }));
+        });
+    }
+
+    /**
+     * Whether the remaining bytes hold anything but ASCII whitespace, without moving the buffer's position.
+     */
+    private static boolean containsText(ByteBuffer bytes) {
+        for (int i = bytes.position(); i < bytes.limit(); i++) {
+            byte b = bytes.get(i);
+            if (b < 0 || !Character.isWhitespace(b)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The exact and approximate analyzers tokenize a streamed text as it arrives, on the calling thread; the
+     * distributed analyzer waits for the peers, and for room to send them a shard.
+     */
+    private static boolean blocks(AnalysisMode mode) {
+        return mode == AnalysisMode.DISTRIBUTED;
+    }
+
+    private WordFrequencyAnalyzer analyzer(AnalysisMode mode) {
+        return switch (mode) {
+            case EXACT -> wordFrequencyAnalyzer;
+            case APPROXIMATE -> approximateWordFrequencyAnalyzer;
+            case DISTRIBUTED -> distributedWordFrequencyAnalyzer;
+        };
+    }
+}
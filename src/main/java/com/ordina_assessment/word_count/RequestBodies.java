@@ -0,0 +1,109 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the plain-text bodies of servlet requests as word sources.
+ */
+final class RequestBodies {
+
+    private RequestBodies() {
+    }
+
+    /**
+     * Tokenize the body straight from its bytes when its charset is ASCII-compatible, and decode it otherwise.
+     * Requests without a charset are read as UTF-8.
+     *
+     * @param request the request whose body is the text to analyze
+     * @return the words of the body
+     * @throws IOException if the request body can not be read
+     */
+    static WordSource wordSource(HttpServletRequest request) throws IOException {
+        return wordSource(request, true);
+    }
+
+    /**
+     * Read the body like {@link #wordSource(HttpServletRequest)}, as a whole document or as a segment of one.
+     *
+     * @param request       the request whose body is the text to analyze
+     * @param documentStart whether the body starts a document, or is a segment of a larger one
+     * @return the words of the body
+     * @throws IOException if the request body can not be read
+     */
+    static WordSource wordSource(HttpServletRequest request, boolean documentStart) throws IOException {
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return WordSources.isAsciiCompatible(charset)
+                ? WordSources.of(request.getInputStream(), documentStart)
+                : WordSources.of(request.getReader(), documentStart);
+    }
+
+    /**
+     * Read the body like {@link #wordSource(HttpServletRequest)}, but reject a body that is empty or only holds
+     * whitespace, like the {@code text} parameter of the GET endpoints. The leading whitespace is read to find the
+     * first other character; it is replaced by a single space, which the tokenizer treats the same.
+     *
+     * @param request the request whose body is the text to analyze
+     * @return the words of the body
+     * @throws IOException              if the request body can not be read
+     * @throws IllegalArgumentException if the body is blank
+     */
+    static WordSource nonBlankWordSource(HttpServletRequest request) throws IOException {
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return WordSources.isAsciiCompatible(charset)
+                ? WordSources.of(skipLeadingWhitespace(request.getInputStream()))
+                : WordSources.of(skipLeadingWhitespace(request.getReader()));
+    }
+
+    private static InputStream skipLeadingWhitespace(InputStream body) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(body, 2);
+        int first = pushback.read();
+        boolean skipped = false;
+        // Bytes from 0x80 belong to non-ASCII characters, none of which is whitespace in an ASCII-compatible charset
+        while (first != -1 && first < 0x80 && Character.isWhitespace(first)) {
+            skipped = true;
+            first = pushback.read();
+        }
+        if (first == -1) {
+            throw blankBody();
+        }
+        pushback.unread(first);
+        if (skipped) {
+            pushback.unread(' ');
+        }
+        return pushback;
+    }
+
+    private static Reader skipLeadingWhitespace(Reader body) throws IOException {
+        PushbackReader pushback = new PushbackReader(body, 2);
+        int first = pushback.read();
+        boolean skipped = false;
+        while (first != -1 && Character.isWhitespace(first)) {
+            skipped = true;
+            first = pushback.read();
+        }
+        if (first == -1) {
+            throw blankBody();
+        }
+        pushback.unread(first);
+        if (skipped) {
+            pushback.unread(' ');
+        }
+        return pushback;
+    }
+
+    private static IllegalArgumentException blankBody() {
+        return new IllegalArgumentException("The request body must not be blank");
+    }
+}
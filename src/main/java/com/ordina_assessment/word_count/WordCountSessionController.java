@@ -0,0 +1,115 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.session.WordCountSession;
+import com.ordina_assessment.word_count.session.WordCountSessionRegistry;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * REST Controller for incremental word counting sessions.
+ * A session is created once, receives the text in chunks over time and can be queried at any moment.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/wordcount/sessions")
+@Validated
+public class WordCountSessionController {
+    private final WordCountSessionRegistry sessionRegistry;
+
+    /**
+     * Constructs a WordCountSessionController.
+     *
+     * @param sessionRegistry the registry holding the open sessions
+     */
+    public WordCountSessionController(WordCountSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * Opens a new, empty session.
+     *
+     * @return ResponseEntity with the identifier of the session and its location
+     */
+    @PostMapping
+    public ResponseEntity<String> createSession() {
+        WordCountSession session = sessionRegistry.create();
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(session.getId()).toUri();
+        return ResponseEntity.created(location).body(session.getId());
+    }
+
+    /**
+     * Appends a chunk of text, sent as the request body, to a session.
+     *
+     * @param id   the identifier of the session
+     * @param body the text to append
+     * @return an empty ResponseEntity
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/{id}/chunks", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Void> appendChunk(@PathVariable String id, Reader body) throws IOException {
+        sessionRegistry.get(id).append(body);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the highest frequency of any word appended to a session so far.
+     *
+     * @param id the identifier of the session
+     * @return ResponseEntity with the highest frequency as an integer
+     */
+    @GetMapping("/{id}/highest-frequency")
+    public ResponseEntity<Integer> getHighestFrequency(@PathVariable String id) {
+        return ResponseEntity.ok(sessionRegistry.get(id).highestFrequency());
+    }
+
+    /**
+     * Retrieves the frequency of a specific word appended to a session so far.
+     *
+     * @param id   the identifier of the session
+     * @param word the word to count, must not be blank
+     * @return ResponseEntity with the frequency of the specified word as an integer
+     */
+    @GetMapping("/{id}/frequency")
+    public ResponseEntity<Integer> getFrequencyForWord(@PathVariable String id,
+                                                       @RequestParam @NotBlank String word) {
+        return ResponseEntity.ok(sessionRegistry.get(id).frequency(word));
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words appended to a session so far.
+     *
+     * @param id the identifier of the session
+     * @param n  the number of top frequent words to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
+     */
+    @GetMapping("/{id}/word-frequency")
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNWords(@PathVariable String id,
+                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) {
+        return ResponseEntity.ok(sessionRegistry.get(id).mostFrequentNWords(n));
+    }
+
+    /**
+     * Closes a session and releases its counts.
+     *
+     * @param id the identifier of the session
+     * @return an empty ResponseEntity
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSession(@PathVariable String id) {
+        sessionRegistry.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.ordina_assessment.word_count;
 
+import com.ordina_assessment.word_count.configuration.AnalysisResultHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(AnalysisResultHints.class)
 public class WordFrequencyApplication {
 
     public static void main(String[] args) {
@@ -1,44 +1,68 @@
 package com.ordina_assessment.word_count;
 
 
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.PhraseFrequencyAnalyzer;
 import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
 import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * REST Controller for word frequency operations.
  * Provides endpoints for analyzing text input and retrieving information about word frequencies.
+ * Phrases are always counted exactly, whatever mode the word endpoints are asked for.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/wordcount")
 @Validated
 public class WordFrequencyController {
     private final WordFrequencyAnalyzer wordFrequencyAnalyzer;
+    private final WordFrequencyAnalyzer approximateWordFrequencyAnalyzer;
+    private final WordFrequencyAnalyzer distributedWordFrequencyAnalyzer;
+    private final PhraseFrequencyAnalyzer phraseFrequencyAnalyzer;
 
     /**
-     * Constructs a WordFrequencyController with the necessary word frequency analyzer.
+     * Constructs a WordFrequencyController with the necessary word frequency analyzers.
      *
-     * @param wordFrequencyAnalyzer the word frequency analyzer to use for computations
+     * @param wordFrequencyAnalyzer            the word frequency analyzer to use for exact computations
+     * @param approximateWordFrequencyAnalyzer the word frequency analyzer to use for approximate computations
+     * @param distributedWordFrequencyAnalyzer the word frequency analyzer to use for computations on peer instances
+     * @param phraseFrequencyAnalyzer          the phrase frequency analyzer, which counts phrases exactly
      */
-    public WordFrequencyController(WordFrequencyAnalyzer wordFrequencyAnalyzer) {
+    public WordFrequencyController(WordFrequencyAnalyzer wordFrequencyAnalyzer,
+                                   @Qualifier("approximateWordFrequencyAnalyzer") WordFrequencyAnalyzer approximateWordFrequencyAnalyzer,
+                                   @Qualifier("distributedWordFrequencyAnalyzer") WordFrequencyAnalyzer distributedWordFrequencyAnalyzer,
+                                   PhraseFrequencyAnalyzer phraseFrequencyAnalyzer) {
         this.wordFrequencyAnalyzer = wordFrequencyAnalyzer;
+        this.approximateWordFrequencyAnalyzer = approximateWordFrequencyAnalyzer;
+        this.distributedWordFrequencyAnalyzer = distributedWordFrequencyAnalyzer;
+        this.phraseFrequencyAnalyzer = phraseFrequencyAnalyzer;
     }
 
     /**
      * Retrieves the highest frequency of any word in a given text.
      *
      * @param text the text to analyze, must not be blank and must contain at least one character
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
      * @return ResponseEntity with the highest frequency as an integer
      */
     @GetMapping("/highest-frequency")
-    public ResponseEntity<Integer> getHighestFrequency(@RequestParam @NotBlank String text) {
-        int highestFrequency = wordFrequencyAnalyzer.calculateHighestFrequency(text);
+    public ResponseEntity<Integer> getHighestFrequency(@RequestParam @NotBlank String text,
+                                                       @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        int highestFrequency = analyzer(mode).calculateHighestFrequency(text);
         return ResponseEntity.ok(highestFrequency);
     }
 
@@ -47,12 +71,14 @@ public class WordFrequencyController {
      *
      * @param text the text to analyze, must not be blank
      * @param word the word to count within the text, must not be blank
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
      * @return ResponseEntity with the frequency of the specified word as an integer
      */
     @GetMapping("/frequency")
     public ResponseEntity<Integer> getFrequencyForWord(@RequestParam @NotBlank String text,
-                                                       @RequestParam @NotBlank String word) {
-        int frequency = wordFrequencyAnalyzer.calculateFrequencyForWord(text, word);
+                                                       @RequestParam @NotBlank String word,
+                                                       @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        int frequency = analyzer(mode).calculateFrequencyForWord(text, word);
         return ResponseEntity.ok(frequency);
     }
 
@@ -61,12 +87,206 @@ public class WordFrequencyController {
      *
      * @param text the text to analyze, must not be blank
      * @param n    the number of top frequent words to retrieve, must be a non-negative integer
+     * @param mode whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
      * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
      */
     @GetMapping("/word-frequency")
     public ResponseEntity<List<WordFrequency>> getMostFrequentNWords(@RequestParam @NotBlank String text,
-                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) {
-        List<WordFrequency> frequentWords = wordFrequencyAnalyzer.calculateMostFrequentNWords(text, n);
+                                                                     @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                                     @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        List<WordFrequency> frequentWords = analyzer(mode).calculateMostFrequentNWords(text, n);
         return ResponseEntity.ok(frequentWords);
     }
+
+    /**
+     * Retrieves the highest frequency of any word in a text sent as the request body.
+     * The body is tokenized while it is read, so it is never held in memory as a whole.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param mode    whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the highest frequency as an integer
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/highest-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Integer> getHighestFrequencyFromBody(HttpServletRequest request,
+                                                               @RequestParam(defaultValue = "EXACT") AnalysisMode mode) throws IOException {
+        int highestFrequency = analyzer(mode).calculateHighestFrequency(RequestBodies.nonBlankWordSource(request));
+        return ResponseEntity.ok(highestFrequency);
+    }
+
+    /**
+     * Retrieves the frequency of a specific word in a text sent as the request body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param word    the word to count within the text, must not be blank
+     * @param mode    whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the frequency of the specified word as an integer
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Integer> getFrequencyForWordFromBody(HttpServletRequest request,
+                                                               @RequestParam @NotBlank String word,
+                                                               @RequestParam(defaultValue = "EXACT") AnalysisMode mode) throws IOException {
+        int frequency = analyzer(mode).calculateFrequencyForWord(RequestBodies.nonBlankWordSource(request), word);
+        return ResponseEntity.ok(frequency);
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' words in a text sent as the request body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param n       the number of top frequent words to retrieve, must be a positive integer
+     * @param mode    whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent words
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/word-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNWordsFromBody(HttpServletRequest request,
+                                                                             @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                                             @RequestParam(defaultValue = "EXACT") AnalysisMode mode) throws IOException {
+        List<WordFrequency> frequentWords = analyzer(mode).calculateMostFrequentNWords(RequestBodies.nonBlankWordSource(request), n);
+        return ResponseEntity.ok(frequentWords);
+    }
+
+    /**
+     * Retrieves the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of a given text in a single pass over the text.
+     *
+     * @param text  the text to analyze, must not be blank
+     * @param words the words to count within the text, may be omitted
+     * @param n     the number of top frequent words to retrieve, must be a positive integer
+     * @param mode  whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the combined {@link WordFrequencyAnalysis}
+     */
+    @GetMapping("/analyze")
+    public ResponseEntity<WordFrequencyAnalysis> analyze(@RequestParam @NotBlank String text,
+                                                         @RequestParam(defaultValue = "") List<String> words,
+                                                         @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                         @RequestParam(defaultValue = "EXACT") AnalysisMode mode) {
+        WordFrequencyAnalysis analysis = analyzer(mode).analyze(text, words, n);
+        return ResponseEntity.ok(analysis);
+    }
+
+    /**
+     * Retrieves the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of a text sent as the request body in a single pass over the body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param words   the words to count within the text, may be omitted
+     * @param n       the number of top frequent words to retrieve, must be a positive integer
+     * @param mode    whether to count exactly, to estimate with bounded memory or to count on the peers, exact by default
+     * @return ResponseEntity with the combined {@link WordFrequencyAnalysis}
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/analyze", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<WordFrequencyAnalysis> analyzeBody(HttpServletRequest request,
+                                                             @RequestParam(defaultValue = "") List<String> words,
+                                                             @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n,
+                                                             @RequestParam(defaultValue = "EXACT") AnalysisMode mode) throws IOException {
+        WordFrequencyAnalysis analysis = analyzer(mode).analyze(RequestBodies.nonBlankWordSource(request), words, n);
+        return ResponseEntity.ok(analysis);
+    }
+
+    /**
+     * Retrieves the highest frequency of any phrase of consecutive words in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @return ResponseEntity with the highest phrase frequency as an integer
+     */
+    @GetMapping("/phrases/highest-frequency")
+    public ResponseEntity<Integer> getHighestPhraseFrequency(@RequestParam @NotBlank String text,
+                                                             @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        int highestFrequency = phraseFrequencyAnalyzer.calculateHighestPhraseFrequency(text, size);
+        return ResponseEntity.ok(highestFrequency);
+    }
+
+    /**
+     * Retrieves the frequency of a specific phrase in a given text.
+     *
+     * @param text   the text to analyze, must not be blank
+     * @param phrase the phrase to count within the text, must have 'size' words
+     * @param size   the number of words in the phrase, 2 by default
+     * @return ResponseEntity with the frequency of the specified phrase as an integer
+     */
+    @GetMapping("/phrases/frequency")
+    public ResponseEntity<Integer> getFrequencyForPhrase(@RequestParam @NotBlank String text,
+                                                         @RequestParam @NotBlank String phrase,
+                                                         @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) {
+        int frequency = phraseFrequencyAnalyzer.calculateFrequencyForPhrase(text, phrase, size);
+        return ResponseEntity.ok(frequency);
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' phrases of consecutive words in a given text.
+     *
+     * @param text the text to analyze, must not be blank
+     * @param size the number of words in a phrase, 2 by default
+     * @param n    the number of top frequent phrases to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent phrases
+     */
+    @GetMapping("/phrases/phrase-frequency")
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNPhrases(@RequestParam @NotBlank String text,
+                                                                       @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size,
+                                                                       @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) {
+        List<WordFrequency> frequentPhrases = phraseFrequencyAnalyzer.calculateMostFrequentNPhrases(text, size, n);
+        return ResponseEntity.ok(frequentPhrases);
+    }
+
+    /**
+     * Retrieves the highest frequency of any phrase of consecutive words in a text sent as the request body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param size    the number of words in a phrase, 2 by default
+     * @return ResponseEntity with the highest phrase frequency as an integer
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/phrases/highest-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Integer> getHighestPhraseFrequencyFromBody(HttpServletRequest request,
+                                                                     @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) throws IOException {
+        int highestFrequency = phraseFrequencyAnalyzer.calculateHighestPhraseFrequency(RequestBodies.nonBlankWordSource(request), size);
+        return ResponseEntity.ok(highestFrequency);
+    }
+
+    /**
+     * Retrieves the frequency of a specific phrase in a text sent as the request body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param phrase  the phrase to count within the text, must have 'size' words
+     * @param size    the number of words in the phrase, 2 by default
+     * @return ResponseEntity with the frequency of the specified phrase as an integer
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/phrases/frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Integer> getFrequencyForPhraseFromBody(HttpServletRequest request,
+                                                                 @RequestParam @NotBlank String phrase,
+                                                                 @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size) throws IOException {
+        int frequency = phraseFrequencyAnalyzer.calculateFrequencyForPhrase(RequestBodies.nonBlankWordSource(request), phrase, size);
+        return ResponseEntity.ok(frequency);
+    }
+
+    /**
+     * Retrieves a list of the most frequent 'n' phrases of consecutive words in a text sent as the request body.
+     *
+     * @param request the request whose body is the text to analyze, must not be blank
+     * @param size    the number of words in a phrase, 2 by default
+     * @param n       the number of top frequent phrases to retrieve, must be a positive integer
+     * @return ResponseEntity with a list of {@link WordFrequency} instances representing the most frequent phrases
+     * @throws IOException if the request body can not be read
+     */
+    @PostMapping(value = "/phrases/phrase-frequency", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<List<WordFrequency>> getMostFrequentNPhrasesFromBody(HttpServletRequest request,
+                                                                               @RequestParam(defaultValue = "2") @Positive(message = "The phrase size must be a positive integer.") int size,
+                                                                               @RequestParam @Positive(message = "The number 'n' must be a positive integer.") int n) throws IOException {
+        List<WordFrequency> frequentPhrases = phraseFrequencyAnalyzer.calculateMostFrequentNPhrases(RequestBodies.nonBlankWordSource(request), size, n);
+        return ResponseEntity.ok(frequentPhrases);
+    }
+
+    private WordFrequencyAnalyzer analyzer(AnalysisMode mode) {
+        return switch (mode) {
+            case EXACT -> wordFrequencyAnalyzer;
+            case APPROXIMATE -> approximateWordFrequencyAnalyzer;
+            case DISTRIBUTED -> distributedWordFrequencyAnalyzer;
+        };
+    }
 }
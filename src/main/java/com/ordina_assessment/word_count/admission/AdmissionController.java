@@ -0,0 +1,130 @@
+package com.ordina_assessment.word_count.admission;
+
+import com.ordina_assessment.word_count.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the total size of the input that is analyzed concurrently.
+ * <p>
+ * Every request reserves its input size from a byte budget before it is handled, and returns it when it completes.
+ * A request that does not fit waits up to the configured time for other requests to finish, and is rejected after
+ * that. Waiting requests are not queued in order: a small request is admitted as soon as it fits, even while a large
+ * one is waiting, so a few large documents can not delay the small requests behind them. A request larger than the
+ * whole budget reserves the whole budget, so it runs alone instead of never.
+ */
+@Component
+public class AdmissionController implements MeterBinder {
+
+    private final long maxBytes;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long reservedBytes;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param maxBytes the maximum number of input bytes that are analyzed concurrently
+     * @param maxWait  the maximum time a request waits for budget before it is rejected
+     */
+    public AdmissionController(@Value("${wordcount.admission.max-bytes:268435456}") long maxBytes,
+                               @Value("${wordcount.admission.max-wait:PT1S}") Duration maxWait) {
+        this.maxBytes = maxBytes;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Reserve budget for a request, waiting for it if needed.
+     *
+     * @param requestBytes the input size of the request
+     * @return the reserved number of bytes, to be passed to {@link #release(long)}
+     * @throws AdmissionRejectedException if the budget does not become available within the maximum wait
+     * @throws InterruptedException       if the thread is interrupted while waiting
+     */
+    public long acquire(long requestBytes) throws InterruptedException {
+        long bytes = Math.max(1, Math.min(requestBytes, maxBytes));
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (reservedBytes + bytes > maxBytes) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new AdmissionRejectedException(requestBytes, maxBytes);
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            reservedBytes += bytes;
+            admitted.increment();
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return budget reserved by {@link #acquire(long)}.
+     *
+     * @param bytes the reserved number of bytes
+     */
+    public void release(long bytes) {
+        lock.lock();
+        try {
+            reservedBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum number of input bytes that are analyzed concurrently
+     */
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the number of bytes currently reserved
+     */
+    public long reservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Register the reserved budget and the number of admitted and rejected requests.
+     *
+     * @param registry the registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("wordcount.admission.reserved", this, AdmissionController::reservedBytes)
+                .description("Input bytes of the requests being analyzed")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("wordcount.admission.requests", admitted, LongAdder::sum)
+                .description("Requests passed through admission control")
+                .tags("result", "admitted")
+                .register(registry);
+        FunctionCounter.builder("wordcount.admission.requests", rejected, LongAdder::sum)
+                .description("Requests passed through admission control")
+                .tags("result", "rejected")
+                .register(registry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ordina_assessment.word_count.admission;
+
+import com.ordina_assessment.word_count.compression.RequestDecompressionFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests through the {@link AdmissionController}, charging each one the size of its input.
+ * <p>
+ * The input size is the content length of the body, or the length of the query string for requests without a
+ * body, which carry their text as a parameter. Controllers that analyze input held elsewhere, such as files, tell
+ * its size as an {@link InputSizeEstimator}. Bodies of unknown length, such as chunked uploads and compressed
+ * bodies, whose decoded length is only known once they are read, are charged a configured size up front, and
+ * that size again each time as much more of them is read; see {@link MeteredBodyFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    /** Request attribute holding the {@link Reservation} of an admitted request. */
+    static final String RESERVATION = AdmissionInterceptor.class.getName() + ".reservation";
+
+    private final AdmissionController admissionController;
+    private final long unknownLengthBytes;
+
+    /**
+     * @param admissionController the budget requests are admitted from
+     * @param unknownLengthBytes  the size charged for a body of unknown length, up front and per part read
+     */
+    public AdmissionInterceptor(AdmissionController admissionController,
+                                @Value("${wordcount.admission.unknown-length-bytes:1048576}") long unknownLengthBytes) {
+        this.admissionController = admissionController;
+        this.unknownLengthBytes = unknownLengthBytes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        long reserved = admissionController.acquire(inputBytes(request, handler));
+        request.setAttribute(RESERVATION, new Reservation(admissionController, reserved, unknownLengthBytes));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RESERVATION) instanceof Reservation reservation) {
+            request.removeAttribute(RESERVATION);
+            reservation.release();
+        }
+    }
+
+    private long inputBytes(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod method && method.getBean() instanceof InputSizeEstimator estimator) {
+            return estimator.inputBytes(request) + queryLength(request);
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength >= 0) {
+            return contentLength + queryLength(request);
+        }
+        if (request.getHeader("Transfer-Encoding") != null
+                || request.getAttribute(RequestDecompressionFilter.CONTENT_ENCODING_ATTRIBUTE) != null) {
+            return unknownLengthBytes;
+        }
+        return queryLength(request);
+    }
+
+    private static long queryLength(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? 0 : query.length();
+    }
+}
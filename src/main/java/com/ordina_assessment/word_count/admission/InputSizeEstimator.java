@@ -0,0 +1,16 @@
+package com.ordina_assessment.word_count.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Implemented by controllers whose input is not carried by the request, such as files read from the service host,
+ * so that {@link AdmissionInterceptor} charges requests the size of what they are going to analyze.
+ */
+public interface InputSizeEstimator {
+
+    /**
+     * @param request the request to be handled
+     * @return the number of input bytes the request is going to analyze, or 0 if it is invalid and will be rejected
+     */
+    long inputBytes(HttpServletRequest request);
+}
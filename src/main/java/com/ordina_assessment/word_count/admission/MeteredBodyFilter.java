@@ -0,0 +1,153 @@
+package com.ordina_assessment.word_count.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Charges the bytes of a body of unknown length to the {@link Reservation} of its request while the body is read,
+ * so that a chunked upload can not analyze more than it reserved. The reservation grows in steps of
+ * {@code wordcount.admission.unknown-length-bytes}, and a read fails with the
+ * {@link com.ordina_assessment.word_count.exception.AdmissionRejectedException} of the budget when a step can not be
+ * admitted in time.
+ * <p>
+ * The filter runs last, so that it meters the bodies as the endpoints read them: a compressed body is metered after
+ * the {@link com.ordina_assessment.word_count.compression.RequestDecompressionFilter} has decoded it, by the bytes
+ * it inflates to. Bodies of known length are charged in full when their request is admitted, and requests that
+ * were not admitted are not metered.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "wordcount.admission.enabled", matchIfMissing = true)
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class MeteredBodyFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request.getContentLengthLong() < 0 ? new MeteredRequest(request) : request, response);
+    }
+
+    /**
+     * A request whose body is charged to its reservation while it is read.
+     */
+    private static final class MeteredRequest extends HttpServletRequestWrapper {
+        private ServletInputStream metered;
+        private BufferedReader reader;
+
+        private MeteredRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("The body is already read through getReader()");
+            }
+            return metered();
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                if (metered != null) {
+                    throw new IllegalStateException("The body is already read through getInputStream()");
+                }
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+                reader = new BufferedReader(new InputStreamReader(metered(), charset));
+            }
+            return reader;
+        }
+
+        private ServletInputStream metered() throws IOException {
+            if (metered == null) {
+                metered = new MeteredInputStream(this, super.getInputStream());
+            }
+            return metered;
+        }
+    }
+
+    /**
+     * Counts the bytes read and grows the reservation of the request to cover them. The reservation is looked up
+     * when it is first needed, since the request is admitted after the filters have run.
+     */
+    private static final class MeteredInputStream extends ServletInputStream {
+        private final HttpServletRequest request;
+        private final ServletInputStream body;
+        private long count;
+
+        private MeteredInputStream(HttpServletRequest request, ServletInputStream body) {
+            this.request = request;
+            this.body = body;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = body.read();
+            if (b >= 0) {
+                charge(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = body.read(buffer, offset, length);
+            if (read > 0) {
+                charge(read);
+            }
+            return read;
+        }
+
+        private void charge(int read) throws IOException {
+            count += read;
+            if (request.getAttribute(AdmissionInterceptor.RESERVATION) instanceof Reservation reservation
+                    && count > reservation.bytes()) {
+                try {
+                    reservation.cover(count);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for admission");
+                }
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return body.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return body.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            body.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ordina_assessment.word_count.admission;
+
+/**
+ * The budget reserved for one request, which grows in steps while a body of unknown length is read.
+ * Instances are not thread-safe; a request body is read by one thread at a time.
+ */
+final class Reservation {
+
+    private final AdmissionController admissionController;
+    private final long step;
+    private long bytes;
+
+    /**
+     * @param admissionController the budget the bytes are reserved from
+     * @param bytes               the number of bytes reserved when the request was admitted
+     * @param step                the number of bytes reserved at a time when the reservation grows
+     */
+    Reservation(AdmissionController admissionController, long bytes, long step) {
+        this.admissionController = admissionController;
+        this.bytes = bytes;
+        this.step = Math.max(1, step);
+    }
+
+    /**
+     * @return the number of bytes reserved
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Grow the reservation to cover a number of bytes, waiting for budget if needed. A reservation never grows beyond
+     * the whole budget, so a request larger than the budget runs alone instead of waiting for itself.
+     *
+     * @param total the number of input bytes read so far
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void cover(long total) throws InterruptedException {
+        long maxBytes = admissionController.maxBytes();
+        while (bytes < total && bytes < maxBytes) {
+            bytes += admissionController.acquire(Math.min(step, maxBytes - bytes));
+        }
+    }
+
+    /**
+     * Return the whole reservation to the budget.
+     */
+    void release() {
+        admissionController.release(bytes);
+        bytes = 0;
+    }
+}
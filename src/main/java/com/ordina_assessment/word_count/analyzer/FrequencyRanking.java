@@ -0,0 +1,187 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import java.util.Arrays;
+
+/**
+ * Keeps entry indices ordered by count descending while counts are incremented one by one.
+ * <p>
+ * Entries with equal counts form a contiguous bucket. Incrementing an entry swaps it to the front of its bucket
+ * and moves the bucket boundary, so both increments and additions cost O(1), and the entries ranking first can be
+ * read without sorting. Entries within a bucket are in no particular order.
+ */
+public class FrequencyRanking {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] order = new int[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int[] bucketOf = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private int[] bucketStart = new int[INITIAL_CAPACITY];
+    private int[] bucketSize = new int[INITIAL_CAPACITY];
+    private int[] bucketCount = new int[INITIAL_CAPACITY];
+    private int[] freeBuckets = new int[INITIAL_CAPACITY];
+    private int freeBucketCount;
+    private int bucketCapacityUsed;
+
+    /**
+     * Count one occurrence of an entry. Entries are numbered densely: an entry equal to {@link #size()} is added
+     * with a count of 1.
+     *
+     * @param entry the entry index
+     */
+    public void increment(int entry) {
+        if (entry == size) {
+            add();
+            return;
+        }
+        int bucket = bucketOf[entry];
+        int start = bucketStart[bucket];
+        swap(positions[entry], start);
+
+        int count = bucketCount[bucket] + 1;
+        counts[entry] = count;
+        bucketStart[bucket] = start + 1;
+        if (--bucketSize[bucket] == 0) {
+            freeBuckets[freeBucketCount++] = bucket;
+        }
+        if (start > 0 && bucketCount[bucketOf[order[start - 1]]] == count) {
+            int previous = bucketOf[order[start - 1]];
+            bucketSize[previous]++;
+            bucketOf[entry] = previous;
+        } else {
+            bucketOf[entry] = newBucket(start, count);
+        }
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param entry the entry index
+     * @return the count of the entry
+     */
+    public int count(int entry) {
+        return counts[entry];
+    }
+
+    /**
+     * @return the highest count, or 0 if there are no entries
+     */
+    public int maxCount() {
+        return size == 0 ? 0 : counts[order[0]];
+    }
+
+    /**
+     * @return the entry with the lowest count, or -1 if there are no entries
+     */
+    public int last() {
+        return size == 0 ? -1 : order[size - 1];
+    }
+
+    /**
+     * The entries ordered by count descending. Only the first {@link #size()} elements are valid, and the array
+     * is changed by later increments.
+     *
+     * @return the ordered entries
+     */
+    public int[] order() {
+        return order;
+    }
+
+    /**
+     * The length of the shortest prefix of {@link #order()} that contains the best n entries in any tie-break order,
+     * which is the first n entries extended to the end of the bucket containing the n-th one.
+     *
+     * @param n the number of entries to rank
+     * @return the length of the prefix
+     */
+    public int prefixContaining(int n) {
+        if (n >= size) {
+            return size;
+        }
+        if (n <= 0) {
+            return 0;
+        }
+        int bucket = bucketOf[order[n - 1]];
+        return bucketStart[bucket] + bucketSize[bucket];
+    }
+
+    /**
+     * @return an estimate of the heap memory used by the ranking, in bytes
+     */
+    public long memoryFootprint() {
+        return 16L * order.length + 16L * bucketStart.length + 64;
+    }
+
+    /**
+     * An upper bound of the heap memory used by a ranking of a number of entries, however their counts change.
+     * Every bucket in use holds at least one entry, so the bucket arrays never grow beyond twice the entry arrays.
+     *
+     * @param entries the number of entries
+     * @return the bound, in bytes
+     */
+    public static long maxMemoryFootprint(int entries) {
+        long capacity = INITIAL_CAPACITY;
+        while (capacity < entries) {
+            capacity *= 2;
+        }
+        return 16L * capacity + 16L * 2 * capacity + 64;
+    }
+
+    private void add() {
+        if (size == order.length) {
+            int capacity = size * 2;
+            order = Arrays.copyOf(order, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            bucketOf = Arrays.copyOf(bucketOf, capacity);
+        }
+        int entry = size++;
+        order[entry] = entry;
+        positions[entry] = entry;
+        counts[entry] = 1;
+        if (entry > 0 && counts[order[entry - 1]] == 1) {
+            int bucket = bucketOf[order[entry - 1]];
+            bucketSize[bucket]++;
+            bucketOf[entry] = bucket;
+        } else {
+            bucketOf[entry] = newBucket(entry, 1);
+        }
+    }
+
+    private int newBucket(int start, int count) {
+        int bucket;
+        if (freeBucketCount > 0) {
+            bucket = freeBuckets[--freeBucketCount];
+        } else {
+            if (bucketCapacityUsed == bucketStart.length) {
+                int capacity = bucketCapacityUsed * 2;
+                bucketStart = Arrays.copyOf(bucketStart, capacity);
+                bucketSize = Arrays.copyOf(bucketSize, capacity);
+                bucketCount = Arrays.copyOf(bucketCount, capacity);
+                freeBuckets = Arrays.copyOf(freeBuckets, capacity);
+            }
+            bucket = bucketCapacityUsed++;
+        }
+        bucketStart[bucket] = start;
+        bucketSize[bucket] = 1;
+        bucketCount[bucket] = count;
+        return bucket;
+    }
+
+    private void swap(int a, int b) {
+        int entryA = order[a];
+        int entryB = order[b];
+        order[a] = entryB;
+        order[b] = entryA;
+        positions[entryB] = a;
+        positions[entryA] = b;
+    }
+}
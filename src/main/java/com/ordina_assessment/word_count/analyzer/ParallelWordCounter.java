@@ -0,0 +1,209 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Tokenizes large texts, and groups of texts such as the files of a directory, on a {@link ForkJoinPool}.
+ * <p>
+ * The text is split recursively at word boundaries; every segment is tokenized into its own sink and the partial
+ * sinks are merged pairwise. Texts shorter than the configured threshold are tokenized on the calling thread.
+ */
+@Component
+public class ParallelWordCounter implements MeterBinder {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int MIN_SEGMENT_SIZE = 1024;
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+    private final LongAdder sequentialCounts = new LongAdder();
+    private final LongAdder parallelCounts = new LongAdder();
+
+    /**
+     * @param threshold   the minimum text length, in characters, for which the text is tokenized in parallel
+     * @param parallelism the number of worker threads, or 0 to use one per available processor
+     */
+    public ParallelWordCounter(@Value("${wordcount.analyzer.parallel.threshold:1048576}") int threshold,
+                               @Value("${wordcount.analyzer.parallel.parallelism:0}") int parallelism) {
+        this.threshold = threshold;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param text a text to tokenize
+     * @return whether the text is tokenized in parallel, with the calling thread waiting for the pool
+     */
+    public boolean isParallel(CharSequence text) {
+        return text.length() >= threshold && pool.getParallelism() > 1;
+    }
+
+    /**
+     * Tokenize a complete text, in parallel if it is long enough.
+     *
+     * @param text        the text to tokenize
+     * @param sinkFactory creates an empty sink for every segment
+     * @param merger      merges two partial sinks into one
+     * @param <T>         the type of sink
+     * @return a sink that received every word of the text
+     */
+    public <T extends WordSink> T count(CharSequence text, Supplier<T> sinkFactory, BinaryOperator<T> merger) {
+        if (!isParallel(text)) {
+            sequentialCounts.increment();
+            T sink = sinkFactory.get();
+            WordTokenizer.tokenize(text, sink);
+            return sink;
+        }
+        parallelCounts.increment();
+        int segmentSize = Math.max(MIN_SEGMENT_SIZE, text.length() / (pool.getParallelism() * SEGMENTS_PER_THREAD));
+        T sink = pool.invoke(new SegmentTask<>(text, 0, text.length(), segmentSize, sinkFactory, merger));
+        // The segments are tokenized without the empty word that split yields for a leading delimiter
+        if (WordTokenizer.startsWithEmptyWord(text)) {
+            sink.accept(EMPTY, 0, 0);
+        }
+        return sink;
+    }
+
+    /**
+     * Tokenize several sources concurrently, each as a separate document.
+     *
+     * @param sources     the sources to tokenize
+     * @param sinkFactory creates an empty sink for every source
+     * @param merger      merges two partial sinks into one
+     * @param <T>         the type of sink
+     * @return a sink that received every word of every source
+     * @throws IOException if one of the sources can not be read
+     */
+    public <T extends WordSink> T countAll(List<WordSource> sources, Supplier<T> sinkFactory, BinaryOperator<T> merger)
+            throws IOException {
+        if (sources.isEmpty()) {
+            return sinkFactory.get();
+        }
+        try {
+            return pool.invoke(new SourcesTask<>(sources, 0, sources.size(), sinkFactory, merger));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Register the number of texts counted on the calling thread and in parallel, and the state of the pool.
+     *
+     * @param registry the registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("wordcount.parallel.texts", sequentialCounts, LongAdder::sum)
+                .description("Texts counted by the parallel word counter")
+                .tags("path", "sequential")
+                .register(registry);
+        FunctionCounter.builder("wordcount.parallel.texts", parallelCounts, LongAdder::sum)
+                .description("Texts counted by the parallel word counter")
+                .tags("path", "parallel")
+                .register(registry);
+        new ExecutorServiceMetrics(pool, "wordcount.parallel", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final class SegmentTask<T extends WordSink> extends RecursiveTask<T> {
+        private final CharSequence text;
+        private final int start;
+        private final int end;
+        private final int segmentSize;
+        private final Supplier<T> sinkFactory;
+        private final BinaryOperator<T> merger;
+
+        private SegmentTask(CharSequence text, int start, int end, int segmentSize,
+                            Supplier<T> sinkFactory, BinaryOperator<T> merger) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.segmentSize = segmentSize;
+            this.sinkFactory = sinkFactory;
+            this.merger = merger;
+        }
+
+        @Override
+        protected T compute() {
+            int split = end - start > segmentSize ? wordBoundary(start + (end - start) / 2) : end;
+            if (split == end) {
+                T sink = sinkFactory.get();
+                WordTokenizer tokenizer = new WordTokenizer(sink, false);
+                tokenizer.feed(text, start, end);
+                tokenizer.finish();
+                return sink;
+            }
+            SegmentTask<T> right = new SegmentTask<>(text, split, end, segmentSize, sinkFactory, merger);
+            right.fork();
+            T left = new SegmentTask<>(text, start, split, segmentSize, sinkFactory, merger).compute();
+            return merger.apply(left, right.join());
+        }
+
+        /**
+         * @return the first index at or after the given one that does not fall inside a word
+         */
+        private int wordBoundary(int index) {
+            while (index < end && WordChars.fold(text.charAt(index - 1)) != 0 && WordChars.fold(text.charAt(index)) != 0) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private static final class SourcesTask<T extends WordSink> extends RecursiveTask<T> {
+        private final List<WordSource> sources;
+        private final int start;
+        private final int end;
+        private final Supplier<T> sinkFactory;
+        private final BinaryOperator<T> merger;
+
+        private SourcesTask(List<WordSource> sources, int start, int end,
+                            Supplier<T> sinkFactory, BinaryOperator<T> merger) {
+            this.sources = sources;
+            this.start = start;
+            this.end = end;
+            this.sinkFactory = sinkFactory;
+            this.merger = merger;
+        }
+
+        @Override
+        protected T compute() {
+            if (end - start == 1) {
+                T sink = sinkFactory.get();
+                try {
+                    sources.get(start).forEachWord(sink);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return sink;
+            }
+            int split = start + (end - start) / 2;
+            SourcesTask<T> right = new SourcesTask<>(sources, split, end, sinkFactory, merger);
+            right.fork();
+            T left = new SourcesTask<>(sources, start, split, sinkFactory, merger).compute();
+            return merger.apply(left, right.join());
+        }
+    }
+}
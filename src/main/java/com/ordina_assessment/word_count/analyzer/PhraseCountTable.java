@@ -0,0 +1,289 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing hash table counting the phrases of a fixed number of consecutive words, the n-grams of a text.
+ * <p>
+ * Every distinct word is numbered once in a {@link WordCountTable}, and a phrase is stored as the numbers of its
+ * words. The hash of the phrase ending at the current word is rolled forward from the previous one by removing
+ * the oldest word and adding the newest, so counting a token costs the same for any phrase size and never creates
+ * an object. A phrase only becomes a String when {@link #word(int)} is called for a result.
+ * <p>
+ * Phrases compare like the Strings of their words joined by single spaces, which is the order of their words one
+ * by one, since a space sorts before every word character. Empty words, which a text starting with a delimiter
+ * produces, are not part of any phrase.
+ */
+public class PhraseCountTable implements WordCounts, WordSink {
+
+    /** The largest number of words in a phrase. */
+    public static final int MAX_PHRASE_SIZE = 8;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int BASE = 0x01000193;
+
+    private final int phraseSize;
+    private final WordCountTable words = new WordCountTable();
+
+    /** The numbers of the last phraseSize words, oldest first. */
+    private final int[] window;
+    private int windowWords;
+    private int windowHash;
+    /** BASE to the power phraseSize - 1, the weight of the oldest word in the window hash. */
+    private final int oldestWeight;
+
+    /** Entry index + 1 per slot; 0 marks an empty slot. */
+    private int[] slots;
+    private int mask;
+
+    private int[] hashes;
+    /** The word numbers of every entry, phraseSize per entry. */
+    private int[] phraseWords;
+    private int[] counts;
+    private int size;
+
+    private int maxCount;
+    private long totalCount;
+
+    /**
+     * Creates a table counting the phrases of the given number of words.
+     *
+     * @param phraseSize the number of words in a phrase, from 1 to {@link #MAX_PHRASE_SIZE}
+     */
+    public PhraseCountTable(int phraseSize) {
+        checkPhraseSize(phraseSize);
+        this.phraseSize = phraseSize;
+        window = new int[phraseSize];
+        int weight = 1;
+        for (int i = 1; i < phraseSize; i++) {
+            weight *= BASE;
+        }
+        oldestWeight = weight;
+        slots = new int[INITIAL_CAPACITY * 2];
+        mask = slots.length - 1;
+        hashes = new int[INITIAL_CAPACITY];
+        phraseWords = new int[INITIAL_CAPACITY * phraseSize];
+        counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Check the number of words of a phrase.
+     *
+     * @param phraseSize the number of words in a phrase
+     * @throws IllegalArgumentException if it is not between 1 and {@link #MAX_PHRASE_SIZE}
+     */
+    public static void checkPhraseSize(int phraseSize) {
+        if (phraseSize < 1 || phraseSize > MAX_PHRASE_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "The phrase size must be between 1 and %d, but was %d", MAX_PHRASE_SIZE, phraseSize));
+        }
+    }
+
+    /**
+     * Split a phrase into its lower-cased words, ignoring the delimiters around and between them.
+     *
+     * @param phrase     the phrase
+     * @param phraseSize the number of words the phrase must have
+     * @return the lower-cased words of the phrase
+     * @throws IllegalArgumentException if the phrase does not have phraseSize words
+     */
+    public static byte[][] foldPhrase(String phrase, int phraseSize) {
+        checkPhraseSize(phraseSize);
+        List<byte[]> folded = new ArrayList<>(phraseSize);
+        WordTokenizer tokenizer = new WordTokenizer(
+                (word, offset, length) -> folded.add(Arrays.copyOfRange(word, offset, offset + length)), false);
+        tokenizer.feed(phrase, 0, phrase.length());
+        tokenizer.finish();
+        if (folded.size() != phraseSize) {
+            throw new IllegalArgumentException(String.format(
+                    "The phrase '%s' has %d words instead of %d", phrase, folded.size(), phraseSize));
+        }
+        return folded.toArray(byte[][]::new);
+    }
+
+    /**
+     * Count the phrase ending with a word, once the text has enough words to fill a phrase.
+     */
+    @Override
+    public void accept(byte[] word, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        int wordNumber = words.add(word, offset, length, 1);
+        if (windowWords == phraseSize) {
+            windowHash -= (window[0] + 1) * oldestWeight;
+            System.arraycopy(window, 1, window, 0, phraseSize - 1);
+            windowWords--;
+        }
+        window[windowWords++] = wordNumber;
+        windowHash = windowHash * BASE + wordNumber + 1;
+        if (windowWords == phraseSize) {
+            add(windowHash, window);
+        }
+    }
+
+    /**
+     * Look up the number of occurrences of a phrase, ignoring case and the delimiters between its words.
+     *
+     * @param phrase the phrase to look up
+     * @return the number of occurrences, or 0 if the phrase was never counted
+     * @throws IllegalArgumentException if the phrase does not have as many words as the counted phrases
+     */
+    public int count(String phrase) {
+        byte[][] folded = foldPhrase(phrase, phraseSize);
+        int[] wordNumbers = new int[phraseSize];
+        int hash = 0;
+        for (int i = 0; i < phraseSize; i++) {
+            wordNumbers[i] = words.find(folded[i], 0, folded[i].length);
+            if (wordNumbers[i] < 0) {
+                return 0;
+            }
+            hash = hash * BASE + wordNumbers[i] + 1;
+        }
+        int entry = find(hash, wordNumbers);
+        return entry < 0 ? 0 : counts[entry];
+    }
+
+    /**
+     * @return the number of words in a phrase
+     */
+    public int phraseSize() {
+        return phraseSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the highest count of any phrase, or 0 if the table is empty
+     */
+    public int maxCount() {
+        return maxCount;
+    }
+
+    /**
+     * @return the total number of counted phrases
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the total number of words the phrases were made of
+     */
+    public long wordCount() {
+        return words.totalCount();
+    }
+
+    @Override
+    public int count(int entry) {
+        return counts[entry];
+    }
+
+    @Override
+    public String word(int entry) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = entry * phraseSize, end = i + phraseSize; i < end; i++) {
+            if (phrase.length() > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(words.word(phraseWords[i]));
+        }
+        return phrase.toString();
+    }
+
+    @Override
+    public int compareWords(int a, int b) {
+        for (int i = 0; i < phraseSize; i++) {
+            int comparison = words.compareWords(phraseWords[a * phraseSize + i], phraseWords[b * phraseSize + i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private void add(int hash, int[] wordNumbers) {
+        int spread = spread(hash);
+        int slot = spread & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == spread && matches(entry, wordNumbers)) {
+                addCount(entry);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        entry = insert(spread, wordNumbers);
+        slots[slot] = entry + 1;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        addCount(entry);
+    }
+
+    private int find(int hash, int[] wordNumbers) {
+        int spread = spread(hash);
+        int slot = spread & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == spread && matches(entry, wordNumbers)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addCount(int entry) {
+        int updated = ++counts[entry];
+        if (updated > maxCount) {
+            maxCount = updated;
+        }
+        totalCount++;
+    }
+
+    private boolean matches(int entry, int[] wordNumbers) {
+        int start = entry * phraseSize;
+        return Arrays.equals(phraseWords, start, start + phraseSize, wordNumbers, 0, phraseSize);
+    }
+
+    private int insert(int hash, int[] wordNumbers) {
+        if (size == counts.length) {
+            int capacity = size * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            phraseWords = Arrays.copyOf(phraseWords, capacity * phraseSize);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int entry = size++;
+        hashes[entry] = hash;
+        System.arraycopy(wordNumbers, 0, phraseWords, entry * phraseSize, phraseSize);
+        return entry;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    /**
+     * Spread the bits of a rolling hash so that linear probing on the low bits stays short.
+     */
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,139 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the most frequent words from a {@link WordCounts}, ordered by frequency descending and then alphabetically.
+ * <p>
+ * For small n a bounded heap of n entry indices is kept, which costs O(D log n) for D distinct words instead of
+ * sorting all of them. When n is close to D, every entry is heapified and sorted instead. Only the selected
+ * words are materialized as Strings.
+ */
+public final class TopWords {
+
+    private TopWords() {
+    }
+
+    /**
+     * Select the most frequent 'n' words.
+     *
+     * @param counts the counted words
+     * @param n      the number of top frequent words to return
+     * @return a list of word frequencies, ordered by frequency and then alphabetically
+     */
+    public static List<WordFrequency> select(WordCounts counts, int n) {
+        return select(counts, null, counts.size(), n);
+    }
+
+    /**
+     * Select the most frequent 'n' words among a set of candidate entries.
+     *
+     * @param counts     the counted words
+     * @param candidates the candidate entry indices, or null to consider the entries 0 to size - 1
+     * @param size       the number of candidates
+     * @param n          the number of top frequent words to return
+     * @return a list of word frequencies, ordered by frequency and then alphabetically
+     */
+    public static List<WordFrequency> select(WordCounts counts, int[] candidates, int size, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(Integer.toString(n));
+        }
+        // n may be far larger than the number of candidates, so neither doubles it nor sizes an array by it
+        int[] selected = n >= size - n
+                ? sortAll(counts, candidates, size, Math.min(n, size))
+                : selectBounded(counts, candidates, size, n);
+
+        List<WordFrequency> result = new ArrayList<>(selected.length);
+        for (int entry : selected) {
+            result.add(new WordFrequencyImpl(counts.word(entry), counts.count(entry)));
+        }
+        return result;
+    }
+
+    private static int[] selectBounded(WordCounts counts, int[] candidates, int size, int n) {
+        // The root of the heap is the entry ranking last among the n best seen so far
+        int[] heap = new int[n];
+        int heapSize = 0;
+        for (int i = 0; i < size; i++) {
+            int entry = candidates == null ? i : candidates[i];
+            if (heapSize < n) {
+                heap[heapSize] = entry;
+                siftUp(counts, heap, heapSize++);
+            } else if (n > 0 && ranksBefore(counts, entry, heap[0])) {
+                heap[0] = entry;
+                siftDown(counts, heap, 0, heapSize);
+            }
+        }
+        return drain(counts, heap, heapSize, heapSize);
+    }
+
+    private static int[] sortAll(WordCounts counts, int[] candidates, int size, int n) {
+        int[] heap = new int[size];
+        for (int i = 0; i < size; i++) {
+            heap[i] = candidates == null ? i : candidates[i];
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(counts, heap, i, size);
+        }
+        return drain(counts, heap, size, n);
+    }
+
+    /**
+     * Pop the heap until only the best n entries remain, and return those in ranking order.
+     */
+    private static int[] drain(WordCounts counts, int[] heap, int heapSize, int n) {
+        int[] result = new int[n];
+        while (heapSize > 0) {
+            int last = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(counts, heap, 0, heapSize);
+            if (heapSize < n) {
+                result[heapSize] = last;
+            }
+        }
+        return result;
+    }
+
+    private static void siftUp(WordCounts counts, int[] heap, int index) {
+        int entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(counts, heap[parent], entry)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private static void siftDown(WordCounts counts, int[] heap, int index, int heapSize) {
+        int entry = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && ranksBefore(counts, heap[child], heap[right])) {
+                child = right;
+            }
+            if (!ranksBefore(counts, entry, heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+
+    /**
+     * @return whether entry a comes before entry b: a higher count first, and alphabetically on equal counts
+     */
+    static boolean ranksBefore(WordCounts counts, int a, int b) {
+        int countA = counts.count(a);
+        int countB = counts.count(b);
+        return countA != countB ? countA > countB : counts.compareWords(a, b) < 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.LE;
+import static jdk.incubator.vector.VectorOperators.OR;
+
+/**
+ * {@link WordMasks} computed with the Vector API, classifying as many characters per instruction as the preferred
+ * vector shape holds: 32 bytes or 16 characters with AVX2, twice that with AVX-512.
+ * <p>
+ * A character is a word character if it is a letter after setting the ASCII lower-case bit, a digit or an
+ * underscore. Bytes of multibyte UTF-8 sequences are negative and characters outside ASCII are above {@code 'z'},
+ * so neither ever matches. Only loaded through {@link WordMasks#vectorized()}.
+ */
+final class VectorWordMasks implements WordMasks {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+    /** Bytes with one lane per character, to narrow folded characters into. */
+    private static final VectorSpecies<Byte> CHAR_BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(Math.max(64, CHARS.length() * Byte.SIZE)));
+
+    @Override
+    public int byteBlockLength() {
+        return BYTES.length();
+    }
+
+    @Override
+    public int charBlockLength() {
+        return CHARS.length();
+    }
+
+    @Override
+    public long foldBlock(byte[] utf8, int offset, byte[] folded) {
+        ByteVector bytes = ByteVector.fromArray(BYTES, utf8, offset);
+        ByteVector lower = bytes.or((byte) 0x20);
+        VectorMask<Byte> letters = lower.compare(GE, (byte) 'a').and(lower.compare(LE, (byte) 'z'));
+        bytes.lanewise(OR, (byte) 0x20, letters).intoArray(folded, 0);
+        return letters
+                .or(bytes.compare(GE, (byte) '0').and(bytes.compare(LE, (byte) '9')))
+                .or(bytes.compare(EQ, (byte) '_'))
+                .toLong();
+    }
+
+    @Override
+    public long foldBlock(char[] text, int offset, byte[] folded) {
+        ShortVector chars = ShortVector.fromCharArray(CHARS, text, offset);
+        ShortVector lower = chars.or((short) 0x20);
+        VectorMask<Short> letters = lower.compare(GE, (short) 'a').and(lower.compare(LE, (short) 'z'));
+        // Word characters are ASCII, so narrowing keeps them intact
+        ((ByteVector) chars.lanewise(OR, (short) 0x20, letters).castShape(CHAR_BYTES, 0)).intoArray(folded, 0);
+        return letters
+                .or(chars.compare(GE, (short) '0').and(chars.compare(LE, (short) '9')))
+                .or(chars.compare(EQ, (short) '_'))
+                .toLong();
+    }
+}
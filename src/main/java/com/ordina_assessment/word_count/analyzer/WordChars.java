@@ -0,0 +1,82 @@
+package com.ordina_assessment.word_count.analyzer;
+
+/**
+ * Character classification matching the {@code \w} class of {@link java.util.regex.Pattern}.
+ * Without the UNICODE_CHARACTER_CLASS flag {@code \w} is {@code [a-zA-Z_0-9]}, so every word is
+ * pure ASCII and can be stored as one byte per character.
+ */
+public final class WordChars {
+
+    /**
+     * Lower-cased value of every ASCII word character, or 0 for characters that are not part of a word.
+     */
+    private static final byte[] FOLD = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            FOLD[c] = (byte) c;
+            FOLD[c - 'a' + 'A'] = (byte) c;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            FOLD[c] = (byte) c;
+        }
+        FOLD['_'] = '_';
+    }
+
+    private WordChars() {
+    }
+
+    /**
+     * @param c the character to classify
+     * @return whether the character is part of a word
+     */
+    public static boolean isWordChar(char c) {
+        return fold(c) != 0;
+    }
+
+    /**
+     * Fold a character to its lower-cased word byte.
+     *
+     * @param c the character to classify
+     * @return the lower-cased ASCII value, or 0 if the character is a word boundary
+     */
+    static byte fold(char c) {
+        return c < 128 ? FOLD[c] : 0;
+    }
+
+    /**
+     * Fold a byte of UTF-8 (or any other ASCII-compatible encoding) to its lower-cased word byte.
+     * Bytes of multibyte sequences are all negative and never part of a word, just like the characters they encode.
+     *
+     * @param b the byte to classify
+     * @return the lower-cased ASCII value, or 0 if the byte is a word boundary
+     */
+    static byte fold(byte b) {
+        return b >= 0 ? FOLD[b] : 0;
+    }
+
+    /**
+     * Fold a query word to the byte form produced by the tokenizer, following the rules of
+     * {@link String#equalsIgnoreCase(String)}. A handful of non-ASCII characters (such as the Kelvin
+     * sign or the dotless i) compare equal to an ASCII letter and are folded to it.
+     *
+     * @param word the word to fold
+     * @return the folded bytes, or null if the word can never be equal to a token
+     */
+    public static byte[] foldWord(String word) {
+        byte[] folded = new byte[word.length()];
+        for (int i = 0; i < folded.length; i++) {
+            char c = word.charAt(i);
+            byte b = fold(c);
+            if (b == 0) {
+                char upper = Character.toUpperCase(c);
+                b = fold(upper) != 0 ? fold(upper) : fold(Character.toLowerCase(upper));
+                if (b == 0) {
+                    return null;
+                }
+            }
+            folded[i] = b;
+        }
+        return folded;
+    }
+}
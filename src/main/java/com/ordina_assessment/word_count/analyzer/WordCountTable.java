@@ -0,0 +1,281 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table counting word occurrences.
+ * <p>
+ * Words are looked up by byte span, so counting a token never creates an object. The bytes of every distinct
+ * word are appended once to a shared pool and the counts live in an {@code int[]}; a word only becomes a String
+ * when {@link #word(int)} is called for a result. Entries are numbered densely from 0 in insertion order and
+ * are never removed.
+ */
+public class WordCountTable implements WordCounts, WordSink {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Entry index + 1 per slot; 0 marks an empty slot. */
+    private int[] slots;
+    private int mask;
+
+    private int[] hashes;
+    private int[] offsets;
+    private int[] lengths;
+    private int[] counts;
+    private int size;
+
+    private byte[] pool;
+    private int poolSize;
+
+    private int maxCount;
+    private long totalCount;
+
+    public WordCountTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a table sized for the expected number of distinct words.
+     *
+     * @param expectedSize the expected number of distinct words
+     */
+    public WordCountTable(int expectedSize) {
+        int entries = Math.max(INITIAL_CAPACITY, expectedSize);
+        int capacity = Integer.highestOneBit(entries * 2 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        hashes = new int[entries];
+        offsets = new int[entries];
+        lengths = new int[entries];
+        counts = new int[entries];
+        pool = new byte[entries * 8];
+    }
+
+    /**
+     * Count one occurrence of a word.
+     */
+    @Override
+    public void accept(byte[] word, int offset, int length) {
+        add(word, offset, length, 1);
+    }
+
+    /**
+     * Add occurrences of a word.
+     *
+     * @param word   the buffer holding the lower-cased word
+     * @param offset the start of the word in the buffer
+     * @param length the length of the word
+     * @param count  the number of occurrences to add
+     * @return the entry index of the word
+     */
+    public int add(byte[] word, int offset, int length, int count) {
+        int hash = hash(word, offset, length);
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == hash && matches(entry, word, offset, length)) {
+                return addCount(entry, count);
+            }
+            slot = (slot + 1) & mask;
+        }
+        entry = insert(hash, word, offset, length);
+        slots[slot] = entry + 1;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return addCount(entry, count);
+    }
+
+    /**
+     * Count one more occurrence of an existing entry.
+     *
+     * @param entry the entry index
+     */
+    public void increment(int entry) {
+        addCount(entry, 1);
+    }
+
+    /**
+     * Add all counts of another table to this table.
+     *
+     * @param other the table to merge into this one
+     */
+    public void addAll(WordCountTable other) {
+        for (int entry = 0; entry < other.size; entry++) {
+            add(other.pool, other.offsets[entry], other.lengths[entry], other.counts[entry]);
+        }
+    }
+
+    /**
+     * Merge two tables by adding the smaller one to the larger one.
+     *
+     * @param a the first table
+     * @param b the second table
+     * @return the table holding the counts of both
+     */
+    public static WordCountTable merge(WordCountTable a, WordCountTable b) {
+        if (a.size < b.size) {
+            b.addAll(a);
+            return b;
+        }
+        a.addAll(b);
+        return a;
+    }
+
+    /**
+     * Look up the number of occurrences of a word.
+     *
+     * @param word   the buffer holding the lower-cased word
+     * @param offset the start of the word in the buffer
+     * @param length the length of the word
+     * @return the number of occurrences, or 0 if the word was never counted
+     */
+    public int count(byte[] word, int offset, int length) {
+        int entry = find(word, offset, length);
+        return entry < 0 ? 0 : counts[entry];
+    }
+
+    /**
+     * Look up the number of occurrences of a word, ignoring case like {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param word the word to look up
+     * @return the number of occurrences, or 0 if the word was never counted
+     */
+    public int count(String word) {
+        byte[] folded = WordChars.foldWord(word);
+        return folded == null ? 0 : count(folded, 0, folded.length);
+    }
+
+    /**
+     * Find the entry index of a word.
+     *
+     * @param word   the buffer holding the lower-cased word
+     * @param offset the start of the word in the buffer
+     * @param length the length of the word
+     * @return the entry index, or -1 if the word was never counted
+     */
+    public int find(byte[] word, int offset, int length) {
+        int hash = hash(word, offset, length);
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == hash && matches(entry, word, offset, length)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the highest count of any word, or 0 if the table is empty
+     */
+    public int maxCount() {
+        return maxCount;
+    }
+
+    /**
+     * @return the total number of counted occurrences
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return an estimate of the heap memory used by the table, in bytes
+     */
+    public long memoryFootprint() {
+        return 4L * slots.length + 16L * counts.length + pool.length + 128;
+    }
+
+    /**
+     * @param length the length of a word that is not in the table
+     * @return an estimate of the heap memory used by the table once the word is added, in bytes
+     */
+    public long memoryFootprintAfterAdding(int length) {
+        long slotCount = (size + 1) * 2L > slots.length ? slots.length * 2L : slots.length;
+        long entries = size == counts.length ? counts.length * 2L : counts.length;
+        long poolLength = poolSize + length > pool.length ? Math.max(pool.length * 2L, (long) poolSize + length) : pool.length;
+        return 4L * slotCount + 16L * entries + poolLength + 128;
+    }
+
+    @Override
+    public int count(int entry) {
+        return counts[entry];
+    }
+
+    @Override
+    public String word(int entry) {
+        return new String(pool, offsets[entry], lengths[entry], StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public int compareWords(int a, int b) {
+        return Arrays.compareUnsigned(pool, offsets[a], offsets[a] + lengths[a],
+                pool, offsets[b], offsets[b] + lengths[b]);
+    }
+
+    private int addCount(int entry, int count) {
+        int updated = counts[entry] += count;
+        if (updated > maxCount) {
+            maxCount = updated;
+        }
+        totalCount += count;
+        return entry;
+    }
+
+    private boolean matches(int entry, byte[] word, int offset, int length) {
+        int start = offsets[entry];
+        return lengths[entry] == length && Arrays.equals(pool, start, start + length, word, offset, offset + length);
+    }
+
+    private int insert(int hash, byte[] word, int offset, int length) {
+        if (size == counts.length) {
+            int capacity = size * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        if (poolSize + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + length));
+        }
+        System.arraycopy(word, offset, pool, poolSize, length);
+        int entry = size++;
+        hashes[entry] = hash;
+        offsets[entry] = poolSize;
+        lengths[entry] = length;
+        poolSize += length;
+        return entry;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    private static int hash(byte[] word, int offset, int length) {
+        int hash = length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + word[i];
+        }
+        // Spread the bits so that linear probing on the low bits stays short
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
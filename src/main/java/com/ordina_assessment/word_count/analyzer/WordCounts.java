@@ -0,0 +1,35 @@
+package com.ordina_assessment.word_count.analyzer;
+
+/**
+ * Read access to a set of counted words, addressed by dense entry indices from 0 to {@link #size()} - 1.
+ */
+public interface WordCounts {
+
+    /**
+     * @return the number of distinct words
+     */
+    int size();
+
+    /**
+     * @param entry the entry index
+     * @return the number of occurrences of the entry
+     */
+    int count(int entry);
+
+    /**
+     * Compare the words of two entries with the ordering of {@link String#compareTo(String)}.
+     *
+     * @param a the first entry index
+     * @param b the second entry index
+     * @return a negative number, zero or a positive number as the first word sorts before, equal to or after the second
+     */
+    int compareWords(int a, int b);
+
+    /**
+     * Materialize the word of an entry.
+     *
+     * @param entry the entry index
+     * @return the word as a String
+     */
+    String word(int entry);
+}
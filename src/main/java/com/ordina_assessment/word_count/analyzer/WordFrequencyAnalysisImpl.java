@@ -0,0 +1,12 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
+
+import java.util.List;
+import java.util.Map;
+
+public record WordFrequencyAnalysisImpl(int highestFrequency,
+                                        Map<String, Integer> frequencies,
+                                        List<WordFrequency> mostFrequentWords) implements WordFrequencyAnalysis {
+}
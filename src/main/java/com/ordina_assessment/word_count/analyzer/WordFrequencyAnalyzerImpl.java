@@ -1,23 +1,70 @@
 package com.ordina_assessment.word_count.analyzer;
 
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.PhraseFrequencyAnalyzer;
 import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
 import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics.Input;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
- * Implementation of the WordFrequencyAnalyzer interface that provides methods
- * to calculate various frequencies of words within a given text.
+ * Implementation of the WordFrequencyAnalyzer and PhraseFrequencyAnalyzer interfaces that provides methods
+ * to calculate various frequencies of words and phrases within a given text.
  */
 @Slf4j
+@Primary
 @Service
-public class WordFrequencyAnalyzerImpl implements WordFrequencyAnalyzer {
+public class WordFrequencyAnalyzerImpl implements WordFrequencyAnalyzer, PhraseFrequencyAnalyzer {
+
+    private final ParallelWordCounter parallelWordCounter;
+    private final HistogramCache histogramCache;
+    private final AnalyzerMetrics metrics;
+    private final SampledDebugLog debugLog;
+
+    /**
+     * Constructs a WordFrequencyAnalyzerImpl.
+     *
+     * @param parallelWordCounter the counter used to tokenize large texts in parallel
+     * @param histogramCache      the cache of histograms of previously analyzed texts
+     * @param metrics             the metrics recorded for every counted text
+     * @param debugLog            the log of a sample of the analyzed texts
+     */
+    public WordFrequencyAnalyzerImpl(ParallelWordCounter parallelWordCounter, HistogramCache histogramCache,
+                                     AnalyzerMetrics metrics, SampledDebugLog debugLog) {
+        this.parallelWordCounter = parallelWordCounter;
+        this.histogramCache = histogramCache;
+        this.metrics = metrics;
+        this.debugLog = debugLog;
+    }
+
+    /**
+     * A cached text may wait for the same text being counted by another request, and a long text waits for the
+     * threads that count it in parallel.
+     *
+     * @param text a text to analyze
+     * @return whether analyzing the text may wait for other threads
+     */
+    @Override
+    public boolean mayBlock(String text) {
+        return histogramCache.isCacheable(text) || parallelWordCounter.isParallel(text);
+    }
 
     /**
      * Calculate the highest frequency of any word in the provided text.
@@ -27,13 +74,8 @@ public class WordFrequencyAnalyzerImpl implements WordFrequencyAnalyzer {
      */
     @Override
     public int calculateHighestFrequency(String text) {
-        log.info("Calculating the highest frequency in text: {}", text);
-        return Arrays.stream(text.split("\\W+"))
-                .map(String::toLowerCase)
-                .collect(Collectors.groupingBy(w -> w, Collectors.summingInt(w -> 1)))
-                .values().stream()
-                .max(Integer::compare)
-                .orElse(0);
+        debugLog.debug(log, "Calculating the highest frequency in text: {}", text);
+        return countWords(text).maxCount();
     }
 
     /**
@@ -45,10 +87,18 @@ public class WordFrequencyAnalyzerImpl implements WordFrequencyAnalyzer {
      */
     @Override
     public int calculateFrequencyForWord(String text, String word) {
-        log.info("Calculating frequency for word: '{}' in text: {}", word, text);
-        return (int) Arrays.stream(text.split("\\W+"))
-                .filter(w -> w.equalsIgnoreCase(word))
-                .count();
+        debugLog.debug(log, "Calculating frequency for word: '{}' in text: {}", word, text);
+        if (histogramCache.isCacheable(text)) {
+            return countWords(text).count(word);
+        }
+        byte[] target = WordChars.foldWord(word);
+        if (target == null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        WordMatcher matcher = parallelWordCounter.count(text, () -> new WordMatcher(target), WordMatcher::merge);
+        metrics.recordCount(AnalysisMode.EXACT, Input.TEXT, text.length(), matcher.tokens, AnalyzerMetrics.UNKNOWN, start);
+        return matcher.frequency;
     }
 
     /**
@@ -60,16 +110,500 @@ public class WordFrequencyAnalyzerImpl implements WordFrequencyAnalyzer {
      */
     @Override
     public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
-        log.info("Calculating the most frequent {} words in text: {}", n, text);
-        Map<String, Integer> wordCounts = Arrays.stream(text.split("\\W+"))
-                .map(String::toLowerCase)
-                .collect(Collectors.groupingBy(w -> w, Collectors.summingInt(w -> 1)));
-
-        return wordCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
-                        .thenComparing(Map.Entry.comparingByKey()))
-                .limit(n)
-                .map(e -> new WordFrequencyImpl(e.getKey(), e.getValue()))
-                .collect(Collectors.toList());
+        debugLog.debug(log, "Calculating the most frequent {} words in text: {}", n, text);
+        return TopWords.select(countWords(text), n);
+    }
+
+    /**
+     * Calculate the highest frequency of any word in a streamed text.
+     *
+     * @param source the text to analyze
+     * @return the highest frequency found
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public int calculateHighestFrequency(WordSource source) throws IOException {
+        debugLog.debug(log, "Calculating the highest frequency in a streamed text");
+        return countWords(source).maxCount();
+    }
+
+    /**
+     * Calculate the frequency of the specified word in a streamed text.
+     * Only the occurrences of the word are counted, so no other word is stored.
+     *
+     * @param source the text to analyze
+     * @param word   the word to count in the text
+     * @return the frequency of the specified word
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public int calculateFrequencyForWord(WordSource source, String word) throws IOException {
+        debugLog.debug(log, "Calculating frequency for word: '{}' in a streamed text", word);
+        byte[] target = WordChars.foldWord(word);
+        if (target == null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        WordMatcher matcher = new WordMatcher(target);
+        source.forEachWord(matcher);
+        metrics.recordCount(AnalysisMode.EXACT, Input.STREAM, AnalyzerMetrics.UNKNOWN, matcher.tokens, AnalyzerMetrics.UNKNOWN, start);
+        return matcher.frequency;
+    }
+
+    /**
+     * Calculate a list of the most frequent 'n' words in a streamed text.
+     *
+     * @param source the text to analyze
+     * @param n      the number of top frequent words to return
+     * @return a list of word frequencies, ordered by frequency and then alphabetically
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(WordSource source, int n) throws IOException {
+        debugLog.debug(log, "Calculating the most frequent {} words in a streamed text", n);
+        return TopWords.select(countWords(source), n);
+    }
+
+    /**
+     * Calculate the highest frequency of any word in a UTF-8 encoded file, or in all files of a directory tree.
+     *
+     * @param path the file or directory to analyze
+     * @return the highest frequency found
+     * @throws IOException if a file can not be read
+     */
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        debugLog.debug(log, "Calculating the highest frequency in path: {}", path);
+        return countWords(path).maxCount();
+    }
+
+    /**
+     * Calculate the frequency of the specified word in a UTF-8 encoded file, or in all files of a directory tree.
+     *
+     * @param path the file or directory to analyze
+     * @param word the word to count
+     * @return the frequency of the specified word
+     * @throws IOException if a file can not be read
+     */
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        debugLog.debug(log, "Calculating frequency for word: '{}' in path: {}", word, path);
+        byte[] target = WordChars.foldWord(word);
+        if (target == null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        WordMatcher matcher = parallelWordCounter.countAll(WordSources.ofTree(path), () -> new WordMatcher(target), WordMatcher::merge);
+        metrics.recordCount(AnalysisMode.EXACT, Input.FILE, AnalyzerMetrics.UNKNOWN, matcher.tokens, AnalyzerMetrics.UNKNOWN, start);
+        return matcher.frequency;
+    }
+
+    /**
+     * Calculate a list of the most frequent 'n' words in a UTF-8 encoded file, or in all files of a directory tree.
+     *
+     * @param path the file or directory to analyze
+     * @param n    the number of top frequent words to return
+     * @return a list of word frequencies, ordered by frequency and then alphabetically
+     * @throws IOException if a file can not be read
+     */
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        debugLog.debug(log, "Calculating the most frequent {} words in path: {}", n, path);
+        return TopWords.select(countWords(path), n);
+    }
+
+    /**
+     * Calculate the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of the provided text, counting the text only once.
+     *
+     * @param text  the text to analyze
+     * @param words the words to count in the text
+     * @param n     the number of top frequent words to return
+     * @return the combined analysis of the text
+     */
+    @Override
+    public WordFrequencyAnalysis analyze(String text, List<String> words, int n) {
+        debugLog.debug(log, "Analyzing words: {} and the most frequent {} words in text: {}", words, n, text);
+        return analyze(countWords(text), words, n);
+    }
+
+    /**
+     * Calculate the highest frequency, the frequency of each of the given words and the most frequent 'n' words
+     * of a streamed text, counting the text only once.
+     *
+     * @param source the text to analyze
+     * @param words  the words to count in the text
+     * @param n      the number of top frequent words to return
+     * @return the combined analysis of the text
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public WordFrequencyAnalysis analyze(WordSource source, List<String> words, int n) throws IOException {
+        debugLog.debug(log, "Analyzing words: {} and the most frequent {} words in a streamed text", words, n);
+        return analyze(countWords(source), words, n);
+    }
+
+    /**
+     * Start an analysis of a text that arrives in parts. Every distinct word of the text is counted, so the
+     * frequency of a single word costs as much as the other results.
+     *
+     * @return the analysis to feed the text to
+     */
+    @Override
+    public IncrementalAnalysis startAnalysis() {
+        debugLog.debug(log, "Starting an incremental analysis");
+        return new ExactIncrementalAnalysis();
+    }
+
+    /**
+     * Calculate the highest frequency of any phrase of consecutive words in the provided text.
+     *
+     * @param text       the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @return the highest frequency found, or 0 if the text has fewer words than a phrase
+     */
+    @Override
+    public int calculateHighestPhraseFrequency(String text, int phraseSize) {
+        debugLog.debug(log, "Calculating the highest frequency of {}-word phrases in text: {}", phraseSize, text);
+        return countPhrases(text, phraseSize).maxCount();
+    }
+
+    /**
+     * Calculate the frequency of the specified phrase in the provided text.
+     * Only the occurrences of the phrase are counted, so no other phrase is stored.
+     *
+     * @param text       the text to analyze
+     * @param phrase     the phrase to count in the text
+     * @param phraseSize the number of words in the phrase
+     * @return the frequency of the specified phrase
+     */
+    @Override
+    public int calculateFrequencyForPhrase(String text, String phrase, int phraseSize) {
+        debugLog.debug(log, "Calculating frequency for phrase: '{}' in text: {}", phrase, text);
+        long start = System.nanoTime();
+        PhraseMatcher matcher = new PhraseMatcher(PhraseCountTable.foldPhrase(phrase, phraseSize));
+        WordTokenizer.tokenize(text, matcher);
+        metrics.recordCount(AnalysisMode.EXACT, Input.TEXT, text.length(), matcher.tokens, AnalyzerMetrics.UNKNOWN, start);
+        return matcher.frequency;
+    }
+
+    /**
+     * Calculate a list of the most frequent 'n' phrases of consecutive words in the provided text.
+     *
+     * @param text       the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @param n          the number of top frequent phrases to return
+     * @return a list of phrase frequencies, ordered by frequency and then alphabetically
+     */
+    @Override
+    public List<WordFrequency> calculateMostFrequentNPhrases(String text, int phraseSize, int n) {
+        debugLog.debug(log, "Calculating the most frequent {} {}-word phrases in text: {}", n, phraseSize, text);
+        return TopWords.select(countPhrases(text, phraseSize), n);
+    }
+
+    /**
+     * Calculate the highest frequency of any phrase of consecutive words in a streamed text.
+     *
+     * @param source     the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @return the highest frequency found
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public int calculateHighestPhraseFrequency(WordSource source, int phraseSize) throws IOException {
+        debugLog.debug(log, "Calculating the highest frequency of {}-word phrases in a streamed text", phraseSize);
+        return countPhrases(source, phraseSize).maxCount();
+    }
+
+    /**
+     * Calculate the frequency of the specified phrase in a streamed text.
+     * Only the occurrences of the phrase are counted, so no other phrase is stored.
+     *
+     * @param source     the text to analyze
+     * @param phrase     the phrase to count in the text
+     * @param phraseSize the number of words in the phrase
+     * @return the frequency of the specified phrase
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public int calculateFrequencyForPhrase(WordSource source, String phrase, int phraseSize) throws IOException {
+        debugLog.debug(log, "Calculating frequency for phrase: '{}' in a streamed text", phrase);
+        long start = System.nanoTime();
+        PhraseMatcher matcher = new PhraseMatcher(PhraseCountTable.foldPhrase(phrase, phraseSize));
+        source.forEachWord(matcher);
+        metrics.recordCount(AnalysisMode.EXACT, Input.STREAM, AnalyzerMetrics.UNKNOWN, matcher.tokens, AnalyzerMetrics.UNKNOWN, start);
+        return matcher.frequency;
+    }
+
+    /**
+     * Calculate a list of the most frequent 'n' phrases of consecutive words in a streamed text.
+     *
+     * @param source     the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @param n          the number of top frequent phrases to return
+     * @return a list of phrase frequencies, ordered by frequency and then alphabetically
+     * @throws IOException if the text can not be read
+     */
+    @Override
+    public List<WordFrequency> calculateMostFrequentNPhrases(WordSource source, int phraseSize, int n) throws IOException {
+        debugLog.debug(log, "Calculating the most frequent {} {}-word phrases in a streamed text", n, phraseSize);
+        return TopWords.select(countPhrases(source, phraseSize), n);
+    }
+
+    /**
+     * Start an analysis of the phrases of a text that arrives in parts. The results of the analysis are about
+     * phrases instead of words: the frequency of a phrase, and the most frequent phrases.
+     *
+     * @param phraseSize the number of words in a phrase
+     * @return the analysis to feed the text to
+     */
+    @Override
+    public IncrementalAnalysis startPhraseAnalysis(int phraseSize) {
+        debugLog.debug(log, "Starting an incremental analysis of {}-word phrases", phraseSize);
+        return new PhraseIncrementalAnalysis(phraseSize);
+    }
+
+    private static WordFrequencyAnalysis analyze(WordCountTable wordCounts, List<String> words, int n) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String word : words) {
+            frequencies.put(word, wordCounts.count(word));
+        }
+        return new WordFrequencyAnalysisImpl(wordCounts.maxCount(), frequencies, TopWords.select(wordCounts, n));
+    }
+
+    /**
+     * Count the occurrences of every lower-cased word in the text, or look them up if the same text was counted before.
+     *
+     * @param text the text to analyze
+     * @return a table with the number of occurrences of every distinct word; must not be modified
+     */
+    private WordCountTable countWords(String text) {
+        return histogramCache.get(text, t -> {
+            long start = System.nanoTime();
+            WordCountTable wordCounts = parallelWordCounter.count(t, WordCountTable::new, WordCountTable::merge);
+            record(Input.TEXT, t.length(), wordCounts, start);
+            return wordCounts;
+        });
+    }
+
+    /**
+     * Count the occurrences of every lower-cased word in a streamed text.
+     *
+     * @param source the text to analyze
+     * @return a table with the number of occurrences of every distinct word
+     * @throws IOException if the text can not be read
+     */
+    private WordCountTable countWords(WordSource source) throws IOException {
+        long start = System.nanoTime();
+        WordCountTable wordCounts = new WordCountTable();
+        source.forEachWord(wordCounts);
+        record(Input.STREAM, AnalyzerMetrics.UNKNOWN, wordCounts, start);
+        return wordCounts;
+    }
+
+    /**
+     * Count the occurrences of every lower-cased word in a file, or in all files of a directory tree.
+     * The files are memory-mapped and counted concurrently, each file as a separate document.
+     *
+     * @param path the file or directory to analyze
+     * @return a table with the number of occurrences of every distinct word
+     * @throws IOException if a file can not be read
+     */
+    private WordCountTable countWords(Path path) throws IOException {
+        long start = System.nanoTime();
+        WordCountTable wordCounts = parallelWordCounter.countAll(WordSources.ofTree(path), WordCountTable::new, WordCountTable::merge);
+        record(Input.FILE, AnalyzerMetrics.UNKNOWN, wordCounts, start);
+        return wordCounts;
+    }
+
+    /**
+     * Count the occurrences of every phrase of consecutive words in the text. Phrases span the whole text,
+     * so it is tokenized sequentially.
+     *
+     * @param text       the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @return a table with the number of occurrences of every distinct phrase
+     */
+    private PhraseCountTable countPhrases(String text, int phraseSize) {
+        long start = System.nanoTime();
+        PhraseCountTable phraseCounts = new PhraseCountTable(phraseSize);
+        WordTokenizer.tokenize(text, phraseCounts);
+        record(Input.TEXT, text.length(), phraseCounts, start);
+        return phraseCounts;
+    }
+
+    /**
+     * Count the occurrences of every phrase of consecutive words in a streamed text.
+     *
+     * @param source     the text to analyze
+     * @param phraseSize the number of words in a phrase
+     * @return a table with the number of occurrences of every distinct phrase
+     * @throws IOException if the text can not be read
+     */
+    private PhraseCountTable countPhrases(WordSource source, int phraseSize) throws IOException {
+        long start = System.nanoTime();
+        PhraseCountTable phraseCounts = new PhraseCountTable(phraseSize);
+        source.forEachWord(phraseCounts);
+        record(Input.STREAM, AnalyzerMetrics.UNKNOWN, phraseCounts, start);
+        return phraseCounts;
+    }
+
+    private void record(Input input, long inputLength, WordCountTable wordCounts, long start) {
+        metrics.recordCount(AnalysisMode.EXACT, input, inputLength, wordCounts.totalCount(), wordCounts.size(), start);
+    }
+
+    private void record(Input input, long inputLength, PhraseCountTable phraseCounts, long start) {
+        metrics.recordCount(AnalysisMode.EXACT, input, inputLength, phraseCounts.wordCount(), phraseCounts.size(), start);
+    }
+
+    /**
+     * Counts the words of a text fed in parts into a table.
+     */
+    private final class ExactIncrementalAnalysis implements IncrementalAnalysis {
+        private final long start = System.nanoTime();
+        private final WordCountTable wordCounts = new WordCountTable();
+        private final WordTokenizer tokenizer = new WordTokenizer(wordCounts);
+
+        @Override
+        public void feed(ByteBuffer utf8) {
+            tokenizer.feed(utf8);
+        }
+
+        @Override
+        public void finish() {
+            tokenizer.finish();
+            record(Input.STREAM, AnalyzerMetrics.UNKNOWN, wordCounts, start);
+        }
+
+        @Override
+        public int highestFrequency() {
+            return wordCounts.maxCount();
+        }
+
+        @Override
+        public int frequency(String word) {
+            return wordCounts.count(word);
+        }
+
+        @Override
+        public List<WordFrequency> mostFrequentWords(int n) {
+            return TopWords.select(wordCounts, n);
+        }
+
+        @Override
+        public WordFrequencyAnalysis analysis(List<String> words, int n) {
+            return analyze(wordCounts, words, n);
+        }
+    }
+
+    /**
+     * Counts the phrases of a text fed in parts into a table.
+     */
+    private final class PhraseIncrementalAnalysis implements IncrementalAnalysis {
+        private final long start = System.nanoTime();
+        private final PhraseCountTable phraseCounts;
+        private final WordTokenizer tokenizer;
+
+        private PhraseIncrementalAnalysis(int phraseSize) {
+            phraseCounts = new PhraseCountTable(phraseSize);
+            tokenizer = new WordTokenizer(phraseCounts);
+        }
+
+        @Override
+        public void feed(ByteBuffer utf8) {
+            tokenizer.feed(utf8);
+        }
+
+        @Override
+        public void finish() {
+            tokenizer.finish();
+            record(Input.STREAM, AnalyzerMetrics.UNKNOWN, phraseCounts, start);
+        }
+
+        @Override
+        public int highestFrequency() {
+            return phraseCounts.maxCount();
+        }
+
+        @Override
+        public int frequency(String phrase) {
+            return phraseCounts.count(phrase);
+        }
+
+        @Override
+        public List<WordFrequency> mostFrequentWords(int n) {
+            return TopWords.select(phraseCounts, n);
+        }
+
+        @Override
+        public WordFrequencyAnalysis analysis(List<String> phrases, int n) {
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            for (String phrase : phrases) {
+                frequencies.put(phrase, phraseCounts.count(phrase));
+            }
+            return new WordFrequencyAnalysisImpl(phraseCounts.maxCount(), frequencies, TopWords.select(phraseCounts, n));
+        }
+    }
+
+    /**
+     * Counts the tokens equal to a single folded word, and all tokens.
+     */
+    private static final class WordMatcher implements WordSink {
+        private final byte[] target;
+        private int frequency;
+        private long tokens;
+
+        private WordMatcher(byte[] target) {
+            this.target = target;
+        }
+
+        private static WordMatcher merge(WordMatcher a, WordMatcher b) {
+            a.frequency += b.frequency;
+            a.tokens += b.tokens;
+            return a;
+        }
+
+        @Override
+        public void accept(byte[] word, int offset, int length) {
+            tokens++;
+            if (Arrays.equals(word, offset, offset + length, target, 0, target.length)) {
+                frequency++;
+            }
+        }
+    }
+
+    /**
+     * Counts the occurrences of a single folded phrase, and all words, with the shift-and algorithm: bit i of the
+     * state is set when the last i + 1 words equal the first i + 1 words of the phrase, so no word is kept.
+     */
+    private static final class PhraseMatcher implements WordSink {
+        private final byte[][] phrase;
+        private final long complete;
+        private long state;
+        private int frequency;
+        private long tokens;
+
+        private PhraseMatcher(byte[][] phrase) {
+            this.phrase = phrase;
+            this.complete = 1L << (phrase.length - 1);
+        }
+
+        @Override
+        public void accept(byte[] word, int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            tokens++;
+            long matches = 0;
+            for (int i = 0; i < phrase.length; i++) {
+                if (Arrays.equals(word, offset, offset + length, phrase[i], 0, phrase[i].length)) {
+                    matches |= 1L << i;
+                }
+            }
+            state = ((state << 1) | 1) & matches;
+            if ((state & complete) != 0) {
+                frequency++;
+            }
+        }
     }
 }
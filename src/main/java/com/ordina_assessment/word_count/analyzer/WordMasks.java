@@ -0,0 +1,65 @@
+package com.ordina_assessment.word_count.analyzer;
+
+/**
+ * Classifies a whole block of text at once into a bit mask of its word characters, with bit i set when character i
+ * of the block is part of a word, and folds the block to lower case in the same pass. The tokenizer derives word
+ * boundaries from the transitions in the mask and copies each word out of the folded block, instead of testing and
+ * folding the characters one by one.
+ * <p>
+ * The only implementation uses the incubating Vector API, which is only present when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}. Without it the tokenizer falls back to its scalar loop.
+ */
+interface WordMasks {
+
+    /**
+     * @return the number of bytes classified per mask
+     */
+    int byteBlockLength();
+
+    /**
+     * @return the number of characters classified per mask
+     */
+    int charBlockLength();
+
+    /**
+     * Classify a block of bytes and fold it to lower case.
+     *
+     * @param utf8   the bytes to classify, with at least {@link #byteBlockLength()} bytes from the offset
+     * @param offset the index of the first byte of the block
+     * @param folded receives the lower-cased block from index 0; bytes outside the mask are unspecified
+     * @return the mask of the word bytes in the block
+     */
+    long foldBlock(byte[] utf8, int offset, byte[] folded);
+
+    /**
+     * Classify a block of characters and fold it to lower-cased bytes.
+     *
+     * @param text   the characters to classify, with at least {@link #charBlockLength()} characters from the offset
+     * @param offset the index of the first character of the block
+     * @param folded receives the lower-cased block from index 0; bytes outside the mask are unspecified
+     * @return the mask of the word characters in the block
+     */
+    long foldBlock(char[] text, int offset, byte[] folded);
+
+    /**
+     * Load the vectorized masks if the Vector API is available and the hardware classifies at least 16 bytes per
+     * instruction; narrower vectors are not faster than the scalar loop. Vectors of more than 64 lanes do not fit
+     * a mask and are not used either.
+     *
+     * @return the vectorized masks, or null if the scalar loop should be used
+     */
+    static WordMasks vectorized() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            WordMasks masks = (WordMasks) Class.forName(WordMasks.class.getPackageName() + ".VectorWordMasks")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            int bytes = masks.byteBlockLength();
+            return bytes >= 16 && bytes <= 64 && masks.charBlockLength() <= 64 ? masks : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
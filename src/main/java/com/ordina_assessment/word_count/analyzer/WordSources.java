@@ -0,0 +1,184 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Factory methods for {@link WordSource} instances.
+ */
+public final class WordSources {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MAPPING_SIZE = 1L << 30;
+
+    private WordSources() {
+    }
+
+    /**
+     * Create a source that reads the text from a reader in fixed-size chunks, so memory use does not depend
+     * on the length of the text. The reader is not closed.
+     *
+     * @param reader the reader providing the text
+     * @return a source tokenizing the text of the reader
+     */
+    public static WordSource of(Reader reader) {
+        return of(reader, true);
+    }
+
+    /**
+     * Create a source that reads the text from a reader in fixed-size chunks. The reader is not closed.
+     *
+     * @param reader        the reader providing the text
+     * @param documentStart whether the text starts a document, or is a segment of a larger one
+     * @return a source tokenizing the text of the reader
+     * @see WordTokenizer#WordTokenizer(WordSink, boolean)
+     */
+    public static WordSource of(Reader reader, boolean documentStart) {
+        return sink -> {
+            WordTokenizer tokenizer = new WordTokenizer(sink, documentStart);
+            char[] buffer = new char[BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                tokenizer.feed(buffer, 0, read);
+            }
+            tokenizer.finish();
+        };
+    }
+
+    /**
+     * Create a source that reads UTF-8 encoded text from a stream in fixed-size chunks and tokenizes the bytes
+     * without decoding them. The stream is not closed.
+     *
+     * @param utf8 the stream providing the text
+     * @return a source tokenizing the text of the stream
+     */
+    public static WordSource of(InputStream utf8) {
+        return of(utf8, true);
+    }
+
+    /**
+     * Create a source that reads UTF-8 encoded text from a stream in fixed-size chunks and tokenizes the bytes
+     * without decoding them. The stream is not closed.
+     *
+     * @param utf8          the stream providing the text
+     * @param documentStart whether the text starts a document, or is a segment of a larger one
+     * @return a source tokenizing the text of the stream
+     * @see WordTokenizer#WordTokenizer(WordSink, boolean)
+     */
+    public static WordSource of(InputStream utf8, boolean documentStart) {
+        return sink -> {
+            WordTokenizer tokenizer = new WordTokenizer(sink, documentStart);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = utf8.read(buffer)) != -1) {
+                tokenizer.feed(buffer, 0, read);
+            }
+            tokenizer.finish();
+        };
+    }
+
+    /**
+     * Create a source that tokenizes UTF-8 encoded text held in a byte array, without decoding it.
+     *
+     * @param utf8 the text
+     * @return a source tokenizing the text
+     */
+    public static WordSource of(byte[] utf8) {
+        return sink -> WordTokenizer.tokenize(utf8, 0, utf8.length, sink);
+    }
+
+    /**
+     * Whether text in a charset can be tokenized as if it were UTF-8. That holds for charsets that encode every ASCII
+     * character as its single ASCII byte and never use bytes below 0x80 for anything else, since every word
+     * character is ASCII.
+     *
+     * @param charset the charset of the text
+     * @return whether the encoded bytes can be tokenized without decoding
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+        String name = charset.name();
+        return name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    /**
+     * Create a source that tokenizes a UTF-8 encoded file straight from memory-mapped regions of the file,
+     * without copying it to the heap or decoding it. Files larger than 1 GB are mapped in consecutive regions.
+     *
+     * @param file the file to tokenize
+     * @return a source tokenizing the content of the file
+     */
+    public static WordSource of(Path file) {
+        return sink -> {
+            WordTokenizer tokenizer = new WordTokenizer(sink);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                for (long position = 0; position < size; position += MAPPING_SIZE) {
+                    tokenizer.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position)));
+                }
+            }
+            tokenizer.finish();
+        };
+    }
+
+    /**
+     * Create a source for every regular file in a directory tree, or a single source if the path is a file.
+     * Symbolic links inside the tree are skipped, so the sources never reach files outside of it.
+     *
+     * @param path the file or directory to tokenize
+     * @return a source for every file
+     * @throws IOException if the directory can not be walked
+     */
+    public static List<WordSource> ofTree(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(of(path));
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(file -> Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)).sorted().map(WordSources::of).toList();
+        }
+    }
+
+    /**
+     * The total size of the files that {@link #ofTree(Path)} tokenizes.
+     *
+     * @param path the file or directory to tokenize
+     * @return the size of the file, or the total size of the regular files in the directory tree, in bytes
+     * @throws IOException if the directory can not be walked or a size can not be read
+     */
+    public static long sizeOfTree(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return Files.size(path);
+        }
+        long[] size = new long[1];
+        // Symbolic links are not followed, and their attributes are not those of a regular file
+        Files.walkFileTree(path, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    size[0] += attributes.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+}
@@ -0,0 +1,371 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Single-pass tokenizer that splits text into words with the same boundaries as {@code text.split("\\W+")}.
+ * Characters are folded to lower case while scanning, and each completed word is handed to a {@link WordSink}
+ * as a span of an internal buffer, so no String is created per token.
+ * <p>
+ * Text may be fed as characters or as UTF-8 bytes, in several chunks; a word crossing a chunk boundary is joined
+ * before it is emitted. Bytes are classified and folded directly, so UTF-8 input is never decoded.
+ * Call {@link #finish()} once the whole document has been fed. Instances are not thread-safe.
+ * <p>
+ * When the JVM runs with {@code --add-modules jdk.incubator.vector}, arrays and Strings are classified a vector
+ * block at a time by {@link WordMasks}, and only the word characters found in the masks are visited one by one.
+ * <p>
+ * A tokenizer created for a segment of a larger document does not emit the empty words that {@code split}
+ * produces at the start of a document; those are the responsibility of whoever splits the document.
+ */
+public class WordTokenizer {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final WordMasks VECTOR_MASKS = WordMasks.vectorized();
+    private static final int STRING_CHUNK = 4096;
+
+    private final WordSink sink;
+    private final boolean documentStart;
+    private final WordMasks masks;
+    private final byte[] folded;
+    private char[] chunk;
+    private byte[] word = new byte[32];
+    private int length;
+    private boolean started;
+    private boolean leadingDelimiter;
+    private boolean emitted;
+
+    public WordTokenizer(WordSink sink) {
+        this(sink, true);
+    }
+
+    /**
+     * @param sink          the sink receiving every word
+     * @param documentStart whether the text starts a document, or continues a segment of a larger one
+     */
+    public WordTokenizer(WordSink sink, boolean documentStart) {
+        this(sink, documentStart, VECTOR_MASKS);
+    }
+
+    /**
+     * @param sink          the sink receiving every word
+     * @param documentStart whether the text starts a document, or continues a segment of a larger one
+     * @param masks         the block classifier, or null to test every character on its own
+     */
+    WordTokenizer(WordSink sink, boolean documentStart, WordMasks masks) {
+        this.sink = sink;
+        this.documentStart = documentStart;
+        this.masks = masks;
+        this.folded = masks == null ? null : new byte[Math.max(masks.byteBlockLength(), masks.charBlockLength())];
+    }
+
+    /**
+     * Tokenize a complete text.
+     *
+     * @param text the text to tokenize
+     * @param sink the sink receiving every word
+     */
+    public static void tokenize(CharSequence text, WordSink sink) {
+        WordTokenizer tokenizer = new WordTokenizer(sink);
+        tokenizer.feed(text, 0, text.length());
+        tokenizer.finish();
+    }
+
+    /**
+     * Tokenize a complete UTF-8 encoded text, without decoding it.
+     *
+     * @param utf8   the bytes to tokenize
+     * @param offset the index of the first byte
+     * @param count  the number of bytes to tokenize
+     * @param sink   the sink receiving every word
+     */
+    public static void tokenize(byte[] utf8, int offset, int count, WordSink sink) {
+        WordTokenizer tokenizer = new WordTokenizer(sink);
+        tokenizer.feed(utf8, offset, count);
+        tokenizer.finish();
+    }
+
+    /**
+     * Whether tokenizing a whole text yields the empty word that {@code split} produces for a leading delimiter:
+     * when the text starts with a delimiter and contains at least one word. Segments of a larger text are tokenized
+     * without it, so whoever splits the text adds it once.
+     *
+     * @param text the whole text
+     * @return whether the first word of the text is the empty word
+     */
+    public static boolean startsWithEmptyWord(CharSequence text) {
+        if (text.length() == 0 || WordChars.fold(text.charAt(0)) != 0) {
+            return false;
+        }
+        for (int i = 1; i < text.length(); i++) {
+            if (WordChars.fold(text.charAt(i)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Feed a range of characters.
+     *
+     * @param text  the characters to scan
+     * @param start the index of the first character, inclusive
+     * @param end   the index of the last character, exclusive
+     */
+    public void feed(CharSequence text, int start, int end) {
+        if (masks != null && text instanceof String string) {
+            // Copying a String out in chunks is cheaper than classifying it one charAt at a time
+            if (chunk == null) {
+                chunk = new char[STRING_CHUNK];
+            }
+            for (int from = start; from < end; from += STRING_CHUNK) {
+                int to = Math.min(end, from + STRING_CHUNK);
+                string.getChars(from, to, chunk, 0);
+                feed(chunk, 0, to - from);
+            }
+            return;
+        }
+        if (start < end) {
+            begin(text.charAt(start));
+        }
+        for (int i = start; i < end; i++) {
+            byte b = WordChars.fold(text.charAt(i));
+            if (b != 0) {
+                append(b);
+            } else if (length > 0) {
+                emit();
+            }
+        }
+    }
+
+    /**
+     * Feed a range of a character buffer.
+     *
+     * @param buffer the characters to scan
+     * @param offset the index of the first character
+     * @param count  the number of characters to scan
+     */
+    public void feed(char[] buffer, int offset, int count) {
+        int end = offset + count;
+        if (offset < end) {
+            begin(buffer[offset]);
+        }
+        int i = offset;
+        if (masks != null) {
+            int block = masks.charBlockLength();
+            for (; i <= end - block; i += block) {
+                long words = masks.foldBlock(buffer, i, folded);
+                ensureCapacity(block);
+                int position = 0;
+                while (words != 0) {
+                    int start = Long.numberOfTrailingZeros(words);
+                    int stop = runEnd(words, start);
+                    if (start > position && length > 0) {
+                        emit();
+                    }
+                    System.arraycopy(folded, start, word, length, stop - start);
+                    length += stop - start;
+                    position = stop;
+                    words = clearBelow(words, stop);
+                }
+                if (position < block && length > 0) {
+                    emit();
+                }
+            }
+        }
+        for (; i < end; i++) {
+            byte b = WordChars.fold(buffer[i]);
+            if (b != 0) {
+                append(b);
+            } else if (length > 0) {
+                emit();
+            }
+        }
+    }
+
+    /**
+     * Feed a range of a byte buffer holding UTF-8 encoded text.
+     *
+     * @param buffer the bytes to scan
+     * @param offset the index of the first byte
+     * @param count  the number of bytes to scan
+     */
+    public void feed(byte[] buffer, int offset, int count) {
+        int end = offset + count;
+        if (offset < end) {
+            begin(buffer[offset]);
+        }
+        int i = offset;
+        if (masks != null) {
+            int block = masks.byteBlockLength();
+            for (; i <= end - block; i += block) {
+                long words = masks.foldBlock(buffer, i, folded);
+                ensureCapacity(block);
+                int position = 0;
+                while (words != 0) {
+                    int start = Long.numberOfTrailingZeros(words);
+                    int stop = runEnd(words, start);
+                    if (start > position && length > 0) {
+                        emit();
+                    }
+                    System.arraycopy(folded, start, word, length, stop - start);
+                    length += stop - start;
+                    position = stop;
+                    words = clearBelow(words, stop);
+                }
+                if (position < block && length > 0) {
+                    emit();
+                }
+            }
+        }
+        for (; i < end; i++) {
+            byte b = WordChars.fold(buffer[i]);
+            if (b != 0) {
+                append(b);
+            } else if (length > 0) {
+                emit();
+            }
+        }
+    }
+
+    /**
+     * Feed the remaining bytes of a buffer holding UTF-8 encoded text. The buffer position is not changed.
+     *
+     * @param buffer the bytes to scan
+     */
+    public void feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        int start = buffer.position();
+        int end = buffer.limit();
+        if (start < end) {
+            begin(buffer.get(start));
+        }
+        for (int i = start; i < end; i++) {
+            byte b = WordChars.fold(buffer.get(i));
+            if (b != 0) {
+                append(b);
+            } else if (length > 0) {
+                emit();
+            }
+        }
+    }
+
+    /**
+     * Emit the pending word, if any, and reset the tokenizer for a new document.
+     */
+    public void finish() {
+        if (length > 0) {
+            emit();
+        } else if (!started && documentStart) {
+            // split() returns the input itself when the pattern never matches, so an empty text is one empty word
+            sink.accept(EMPTY, 0, 0);
+        }
+        started = false;
+        leadingDelimiter = false;
+        emitted = false;
+    }
+
+    /**
+     * Pass the words that {@link #finish()} would emit now to another sink, without emitting them: the pending word,
+     * preceded by the empty word when it is the first word after a leading delimiter. The state is not changed, so
+     * the pending word may still continue in the next chunk.
+     *
+     * @param pendingSink the sink receiving the pending words
+     */
+    public void peek(WordSink pendingSink) {
+        if (length > 0) {
+            if (!emitted && leadingDelimiter) {
+                pendingSink.accept(EMPTY, 0, 0);
+            }
+            pendingSink.accept(word, 0, length);
+        }
+    }
+
+    /**
+     * Discard the pending word, if any, and reset the tokenizer for a new document without emitting anything.
+     */
+    public void reset() {
+        length = 0;
+        started = false;
+        leadingDelimiter = false;
+        emitted = false;
+    }
+
+    /**
+     * An upper bound of the memory held for the pending word once a number of characters or bytes more are fed,
+     * for callers that limit the memory of a long-lived tokenizer. The bound holds however the input is split
+     * into words, including when all of it continues the pending word.
+     *
+     * @param count the number of characters or bytes to feed
+     * @return the bound, in bytes
+     */
+    public long pendingMemoryAfter(int count) {
+        long needed = (long) length + count + (folded == null ? 0 : folded.length);
+        // Every growth at most doubles the buffer or sizes it to what is needed, whichever is larger
+        return needed <= word.length ? word.length : Math.max(word.length, 2 * needed);
+    }
+
+    private void begin(char first) {
+        begin(WordChars.fold(first) != 0);
+    }
+
+    private void begin(byte first) {
+        begin(WordChars.fold(first) != 0);
+    }
+
+    private void begin(boolean wordChar) {
+        if (!started) {
+            started = true;
+            leadingDelimiter = documentStart && !wordChar;
+        }
+    }
+
+    private void append(byte b) {
+        if (length == word.length) {
+            word = Arrays.copyOf(word, length * 2);
+        }
+        word[length++] = b;
+    }
+
+    /**
+     * Make room for a number of bytes after the current word.
+     */
+    private void ensureCapacity(int additional) {
+        if (length + additional > word.length) {
+            word = Arrays.copyOf(word, Math.max(word.length * 2, length + additional));
+        }
+    }
+
+    /**
+     * @return the index of the first character after the run of word characters starting at {@code start}; a run
+     * reaching the top bit ends at 64, past any block
+     */
+    private static int runEnd(long words, int start) {
+        return Long.numberOfTrailingZeros(~words & (-1L << start));
+    }
+
+    /**
+     * @return the mask without the bits below {@code index}
+     */
+    private static long clearBelow(long words, int index) {
+        // A shift by 64 is a shift by 0 in Java
+        return index == 64 ? 0 : words & (-1L << index);
+    }
+
+    private void emit() {
+        if (!emitted) {
+            emitted = true;
+            if (leadingDelimiter) {
+                // split() keeps the empty string in front of a leading delimiter, but drops trailing ones
+                sink.accept(EMPTY, 0, 0);
+            }
+        }
+        sink.accept(word, 0, length);
+        length = 0;
+    }
+}
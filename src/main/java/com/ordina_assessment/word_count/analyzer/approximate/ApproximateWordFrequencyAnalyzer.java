@@ -0,0 +1,254 @@
+package com.ordina_assessment.word_count.analyzer.approximate;
+
+import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalysisImpl;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics.Input;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the WordFrequencyAnalyzer interface that answers from fixed-size summaries instead of exact
+ * counts, so memory use does not grow with the vocabulary of the text.
+ * <p>
+ * Frequencies and the highest frequency are estimated by a {@link CountMinSketch}, the most frequent words by a
+ * {@link SpaceSaving} summary. Both only ever overestimate; see those classes for the error bounds. At most
+ * {@code wordcount.approximate.heavy-hitters} words are returned for a top-N query.
+ */
+@Slf4j
+@Service("approximateWordFrequencyAnalyzer")
+public class ApproximateWordFrequencyAnalyzer implements WordFrequencyAnalyzer {
+
+    private final int sketchWidth;
+    private final int sketchDepth;
+    private final int heavyHitters;
+    private final AnalyzerMetrics metrics;
+    private final SampledDebugLog debugLog;
+
+    /**
+     * Constructs an ApproximateWordFrequencyAnalyzer.
+     *
+     * @param sketchWidth  the number of counters per row of the Count-Min Sketch
+     * @param sketchDepth  the number of rows of the Count-Min Sketch
+     * @param heavyHitters the number of words tracked by the Space-Saving summary
+     * @param metrics      the metrics recorded for every counted text
+     * @param debugLog     the log of a sample of the analyzed texts
+     */
+    public ApproximateWordFrequencyAnalyzer(@Value("${wordcount.approximate.sketch-width:16384}") int sketchWidth,
+                                            @Value("${wordcount.approximate.sketch-depth:4}") int sketchDepth,
+                                            @Value("${wordcount.approximate.heavy-hitters:1024}") int heavyHitters,
+                                            AnalyzerMetrics metrics, SampledDebugLog debugLog) {
+        if (sketchWidth < 1 || sketchDepth < 1 || heavyHitters < 1) {
+            throw new IllegalArgumentException("The approximate analyzer needs at least one counter of each kind");
+        }
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.heavyHitters = heavyHitters;
+        this.metrics = metrics;
+        this.debugLog = debugLog;
+    }
+
+    @Override
+    public int calculateHighestFrequency(String text) {
+        debugLog.debug(log, "Estimating the highest frequency in text: {}", text);
+        return sketch(text).maxEstimate();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(String text, String word) {
+        debugLog.debug(log, "Estimating frequency for word: '{}' in text: {}", word, text);
+        return sketch(text).estimate(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
+        debugLog.debug(log, "Estimating the most frequent {} words in text: {}", n, text);
+        return summary(text).mostFrequentNWords(n);
+    }
+
+    @Override
+    public int calculateHighestFrequency(WordSource source) throws IOException {
+        debugLog.debug(log, "Estimating the highest frequency in a streamed text");
+        return sketch(List.of(source), Input.STREAM).maxEstimate();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(WordSource source, String word) throws IOException {
+        debugLog.debug(log, "Estimating frequency for word: '{}' in a streamed text", word);
+        return sketch(List.of(source), Input.STREAM).estimate(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(WordSource source, int n) throws IOException {
+        debugLog.debug(log, "Estimating the most frequent {} words in a streamed text", n);
+        return summary(List.of(source), Input.STREAM).mostFrequentNWords(n);
+    }
+
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        debugLog.debug(log, "Estimating the highest frequency in path: {}", path);
+        return sketch(WordSources.ofTree(path), Input.FILE).maxEstimate();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        debugLog.debug(log, "Estimating frequency for word: '{}' in path: {}", word, path);
+        return sketch(WordSources.ofTree(path), Input.FILE).estimate(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        debugLog.debug(log, "Estimating the most frequent {} words in path: {}", n, path);
+        return summary(WordSources.ofTree(path), Input.FILE).mostFrequentNWords(n);
+    }
+
+    @Override
+    public WordFrequencyAnalysis analyze(String text, List<String> words, int n) {
+        debugLog.debug(log, "Estimating words: {} and the most frequent {} words in text: {}", words, n, text);
+        long start = System.nanoTime();
+        CountMinSketch sketch = newSketch();
+        SpaceSaving summary = newSummary();
+        WordTokenizer.tokenize(text, both(sketch, summary));
+        record(Input.TEXT, text.length(), sketch.totalCount(), start);
+        return analysis(sketch, summary, words, n);
+    }
+
+    @Override
+    public WordFrequencyAnalysis analyze(WordSource source, List<String> words, int n) throws IOException {
+        debugLog.debug(log, "Estimating words: {} and the most frequent {} words in a streamed text", words, n);
+        long start = System.nanoTime();
+        CountMinSketch sketch = newSketch();
+        SpaceSaving summary = newSummary();
+        source.forEachWord(both(sketch, summary));
+        record(Input.STREAM, AnalyzerMetrics.UNKNOWN, sketch.totalCount(), start);
+        return analysis(sketch, summary, words, n);
+    }
+
+    @Override
+    public IncrementalAnalysis startAnalysis() {
+        debugLog.debug(log, "Starting an incremental estimate");
+        return new ApproximateIncrementalAnalysis();
+    }
+
+    private CountMinSketch newSketch() {
+        return new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    private SpaceSaving newSummary() {
+        return new SpaceSaving(heavyHitters);
+    }
+
+    private CountMinSketch sketch(String text) {
+        long start = System.nanoTime();
+        CountMinSketch sketch = newSketch();
+        WordTokenizer.tokenize(text, sketch);
+        record(Input.TEXT, text.length(), sketch.totalCount(), start);
+        return sketch;
+    }
+
+    private CountMinSketch sketch(List<WordSource> sources, Input input) throws IOException {
+        long start = System.nanoTime();
+        CountMinSketch sketch = tokenize(sources, newSketch());
+        record(input, AnalyzerMetrics.UNKNOWN, sketch.totalCount(), start);
+        return sketch;
+    }
+
+    private SpaceSaving summary(String text) {
+        long start = System.nanoTime();
+        SpaceSaving summary = newSummary();
+        WordTokenizer.tokenize(text, summary);
+        record(Input.TEXT, text.length(), summary.totalCount(), start);
+        return summary;
+    }
+
+    private SpaceSaving summary(List<WordSource> sources, Input input) throws IOException {
+        long start = System.nanoTime();
+        SpaceSaving summary = tokenize(sources, newSummary());
+        record(input, AnalyzerMetrics.UNKNOWN, summary.totalCount(), start);
+        return summary;
+    }
+
+    private void record(Input input, long inputLength, long tokens, long start) {
+        metrics.recordCount(AnalysisMode.APPROXIMATE, input, inputLength, tokens, AnalyzerMetrics.UNKNOWN, start);
+    }
+
+    private static <T extends WordSink> T tokenize(List<WordSource> sources, T sink) throws IOException {
+        for (WordSource source : sources) {
+            source.forEachWord(sink);
+        }
+        return sink;
+    }
+
+    private static WordSink both(CountMinSketch sketch, SpaceSaving summary) {
+        return (word, offset, length) -> {
+            sketch.accept(word, offset, length);
+            summary.accept(word, offset, length);
+        };
+    }
+
+    private static WordFrequencyAnalysis analysis(CountMinSketch sketch, SpaceSaving summary, List<String> words, int n) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String word : words) {
+            frequencies.put(word, sketch.estimate(word));
+        }
+        return new WordFrequencyAnalysisImpl(sketch.maxEstimate(), frequencies, summary.mostFrequentNWords(n));
+    }
+
+    /**
+     * Feeds the words of a text that arrives in parts to both summaries.
+     */
+    private final class ApproximateIncrementalAnalysis implements IncrementalAnalysis {
+        private final long start = System.nanoTime();
+        private final CountMinSketch sketch = newSketch();
+        private final SpaceSaving summary = newSummary();
+        private final WordTokenizer tokenizer = new WordTokenizer(both(sketch, summary));
+
+        @Override
+        public void feed(ByteBuffer utf8) {
+            tokenizer.feed(utf8);
+        }
+
+        @Override
+        public void finish() {
+            tokenizer.finish();
+            record(Input.STREAM, AnalyzerMetrics.UNKNOWN, sketch.totalCount(), start);
+        }
+
+        @Override
+        public int highestFrequency() {
+            return sketch.maxEstimate();
+        }
+
+        @Override
+        public int frequency(String word) {
+            return sketch.estimate(word);
+        }
+
+        @Override
+        public List<WordFrequency> mostFrequentWords(int n) {
+            return summary.mostFrequentNWords(n);
+        }
+
+        @Override
+        public WordFrequencyAnalysis analysis(List<String> words, int n) {
+            return ApproximateWordFrequencyAnalyzer.analysis(sketch, summary, words, n);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ordina_assessment.word_count.analyzer.approximate;
+
+import com.ordina_assessment.word_count.analyzer.WordChars;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+
+/**
+ * Count-Min Sketch estimating the frequency of every word in a fixed amount of memory.
+ * <p>
+ * The sketch holds {@code depth} rows of {@code width} counters, and every word increments one counter per row.
+ * Counters are updated conservatively: only the counters below the new estimate are raised. An estimate never
+ * undercounts, and for N counted words it overcounts by at most {@code e / width * N} with a probability of at least
+ * {@code 1 - e^-depth}. With the defaults of 16384 x 4 counters (256 KB) the error stays below 0.017% of N in 98% of
+ * the lookups.
+ */
+public class CountMinSketch implements WordSink {
+
+    private final int width;
+    private final int depth;
+    private final int[] counters;
+    private final int[] rowHashes;
+    private int maxEstimate;
+    private long totalCount;
+
+    /**
+     * @param width the number of counters per row, rounded up to a power of two
+     * @param depth the number of rows
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.counters = new int[this.width * depth];
+        this.rowHashes = new int[depth];
+    }
+
+    @Override
+    public void accept(byte[] word, int offset, int length) {
+        hash(word, offset, length);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[rowHashes[row]]);
+        }
+        int updated = estimate + 1;
+        for (int row = 0; row < depth; row++) {
+            int index = rowHashes[row];
+            if (counters[index] < updated) {
+                counters[index] = updated;
+            }
+        }
+        if (updated > maxEstimate) {
+            maxEstimate = updated;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Estimate the frequency of a word, ignoring case like {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param word the word to look up
+     * @return an estimate that is never lower than the real frequency
+     */
+    public int estimate(String word) {
+        byte[] folded = WordChars.foldWord(word);
+        if (folded == null) {
+            return 0;
+        }
+        hash(folded, 0, folded.length);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[rowHashes[row]]);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the highest estimate of any counted word, which is never lower than the real highest frequency
+     */
+    public int maxEstimate() {
+        return maxEstimate;
+    }
+
+    /**
+     * @return the number of counted words, N in the error bound
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Compute the counter index of the word in every row, deriving the row hashes from two base hashes.
+     */
+    private void hash(byte[] word, int offset, int length) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = (hash ^ word[i]) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        int first = (int) hash;
+        int second = (int) (hash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            rowHashes[row] = row * width + ((first + row * second) & (width - 1));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ordina_assessment.word_count.analyzer.approximate;
+
+import com.ordina_assessment.word_count.analyzer.FrequencyRanking;
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordCounts;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Space-Saving summary tracking the heavy hitters of a word stream with a fixed number of counters.
+ * <p>
+ * While fewer than {@code capacity} distinct words have been seen, every word is counted exactly. After that, a new
+ * word takes over the counter of the word with the lowest count and continues from that count plus one. For N
+ * counted words every reported count overestimates by at most {@code N / capacity}, and every word occurring more
+ * than {@code N / capacity} times is guaranteed to be reported.
+ * <p>
+ * Counters are kept in a {@link FrequencyRanking}, so finding the lowest counter and reading the top of the summary
+ * cost O(1) per word.
+ */
+public class SpaceSaving implements WordCounts, WordSink {
+
+    private final int capacity;
+    private final FrequencyRanking ranking = new FrequencyRanking();
+    private final byte[][] keys;
+    private final int[] keyLengths;
+    private final int[] keyHashes;
+
+    /** Counter index + 1 per slot of the open-addressing index; 0 marks an empty slot. */
+    private final int[] index;
+    private final int mask;
+    private long totalCount;
+
+    /**
+     * @param capacity the number of words that are tracked
+     */
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.keys = new byte[capacity][];
+        this.keyLengths = new int[capacity];
+        this.keyHashes = new int[capacity];
+        int indexSize = Integer.highestOneBit(Math.max(1, capacity * 2 - 1)) << 1;
+        this.index = new int[indexSize];
+        this.mask = indexSize - 1;
+    }
+
+    @Override
+    public void accept(byte[] word, int offset, int length) {
+        totalCount++;
+        int hash = hash(word, offset, length);
+        int slot = hash & mask;
+        int counter;
+        while ((counter = index[slot] - 1) >= 0) {
+            if (keyHashes[counter] == hash && keyLengths[counter] == length
+                    && Arrays.equals(keys[counter], 0, length, word, offset, offset + length)) {
+                ranking.increment(counter);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (ranking.size() < capacity) {
+            counter = ranking.size();
+        } else {
+            counter = ranking.last();
+            remove(counter);
+        }
+        setKey(counter, hash, word, offset, length);
+        insert(counter);
+        ranking.increment(counter);
+    }
+
+    /**
+     * Select the most frequent 'n' tracked words. At most {@code capacity} words are returned.
+     *
+     * @param n the number of top frequent words to return
+     * @return a list of word frequencies, ordered by estimated frequency and then alphabetically
+     */
+    public List<WordFrequency> mostFrequentNWords(int n) {
+        return TopWords.select(this, ranking.order(), ranking.prefixContaining(n), n);
+    }
+
+    /**
+     * @return the number of counted words, N in the error bound
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    @Override
+    public int size() {
+        return ranking.size();
+    }
+
+    @Override
+    public int count(int entry) {
+        return ranking.count(entry);
+    }
+
+    @Override
+    public int compareWords(int a, int b) {
+        return Arrays.compareUnsigned(keys[a], 0, keyLengths[a], keys[b], 0, keyLengths[b]);
+    }
+
+    @Override
+    public String word(int entry) {
+        return new String(keys[entry], 0, keyLengths[entry], StandardCharsets.ISO_8859_1);
+    }
+
+    private void setKey(int counter, int hash, byte[] word, int offset, int length) {
+        if (keys[counter] == null || keys[counter].length < length) {
+            keys[counter] = new byte[Math.max(16, length)];
+        }
+        System.arraycopy(word, offset, keys[counter], 0, length);
+        keyLengths[counter] = length;
+        keyHashes[counter] = hash;
+    }
+
+    private void insert(int counter) {
+        int slot = keyHashes[counter] & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = counter + 1;
+    }
+
+    /**
+     * Remove a counter from the index, shifting later entries of its probe sequence back so lookups keep working.
+     */
+    private void remove(int counter) {
+        int slot = keyHashes[counter] & mask;
+        while (index[slot] != counter + 1) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            int home = keyHashes[index[next] - 1] & mask;
+            // Move the entry into the hole unless its home slot lies cyclically between the hole and its position
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private static int hash(byte[] word, int offset, int length) {
+        int hash = length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + word[i];
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
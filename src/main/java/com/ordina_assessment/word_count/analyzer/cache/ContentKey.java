@@ -0,0 +1,43 @@
+package com.ordina_assessment.word_count.analyzer.cache;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identifies a text by its length and the SHA-256 digest of its UTF-16 characters.
+ * <p>
+ * A cached histogram is returned for any text with an equal key, so the digest has to be collision resistant:
+ * non-cryptographic hashes, even randomly seeded ones, admit texts constructed to collide. The text itself is not
+ * kept, so a key costs the same memory for any text length.
+ */
+record ContentKey(int length, long digest0, long digest1, long digest2, long digest3) {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    static ContentKey of(String text) {
+        MessageDigest sha256 = sha256();
+        byte[] chunk = new byte[2 * CHUNK_SIZE];
+        for (int from = 0, length = text.length(); from < length; from += CHUNK_SIZE) {
+            int to = Math.min(length, from + CHUNK_SIZE);
+            int j = 0;
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                chunk[j++] = (byte) (c >>> 8);
+                chunk[j++] = (byte) c;
+            }
+            sha256.update(chunk, 0, j);
+        }
+        ByteBuffer digest = ByteBuffer.wrap(sha256.digest());
+        return new ContentKey(text.length(), digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
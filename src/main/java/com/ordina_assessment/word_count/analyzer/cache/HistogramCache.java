@@ -0,0 +1,174 @@
+package com.ordina_assessment.word_count.analyzer.cache;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of word histograms keyed by the content of the analyzed text.
+ * <p>
+ * Cached tables are shared between requests and must not be modified. The cache is bounded by the estimated
+ * memory of the tables and evicts the least recently used ones first. Concurrent lookups of the same text
+ * wait for a single computation instead of counting the text several times.
+ */
+@Component
+public class HistogramCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final int minTextLength;
+
+    private final LinkedHashMap<ContentKey, WordCountTable> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<ContentKey, CompletableFuture<WordCountTable>> inFlight = new ConcurrentHashMap<>();
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param enabled       whether histograms are cached at all
+     * @param maxWeight     the maximum estimated memory of all cached histograms, in bytes
+     * @param minTextLength the minimum length of a text for its histogram to be cached
+     */
+    public HistogramCache(@Value("${wordcount.cache.enabled:true}") boolean enabled,
+                          @Value("${wordcount.cache.max-weight:268435456}") long maxWeight,
+                          @Value("${wordcount.cache.min-text-length:1024}") int minTextLength) {
+        this.enabled = enabled;
+        this.maxWeight = maxWeight;
+        this.minTextLength = minTextLength;
+    }
+
+    /**
+     * @param text the text to analyze
+     * @return whether the histogram of the text is looked up in the cache
+     */
+    public boolean isCacheable(String text) {
+        return enabled && text.length() >= minTextLength;
+    }
+
+    /**
+     * Return the histogram of a text, computing and caching it if needed.
+     *
+     * @param text   the text to analyze
+     * @param loader computes the histogram of a text
+     * @return the histogram of the text; must not be modified
+     */
+    public WordCountTable get(String text, Function<String, WordCountTable> loader) {
+        if (!isCacheable(text)) {
+            return loader.apply(text);
+        }
+        ContentKey key = ContentKey.of(text);
+        WordCountTable cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<WordCountTable> future = new CompletableFuture<>();
+        CompletableFuture<WordCountTable> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+        try {
+            // Another thread may have stored the histogram between the lookup and the registration
+            WordCountTable table = lookup(key);
+            if (table == null) {
+                misses.incrementAndGet();
+                table = loader.apply(text);
+                store(key, table);
+            } else {
+                hits.incrementAndGet();
+            }
+            future.complete(table);
+            return table;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return the current counters of the cache
+     */
+    public synchronized HistogramCacheStats stats() {
+        return new HistogramCacheStats(hits.get(), misses.get(), coalesced.get(), evictions.get(), entries.size(), weight);
+    }
+
+    /**
+     * Register the counters of the cache, tagging lookups with their result.
+     *
+     * @param registry the registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookups(registry, "hit", hits);
+        lookups(registry, "miss", misses);
+        lookups(registry, "coalesced", coalesced);
+        FunctionCounter.builder("wordcount.cache.evictions", evictions, AtomicLong::get)
+                .description("Histograms evicted from the cache")
+                .register(registry);
+        Gauge.builder("wordcount.cache.entries", this, cache -> cache.stats().entries())
+                .description("Histograms in the cache")
+                .register(registry);
+        Gauge.builder("wordcount.cache.weight", this, cache -> cache.stats().weight())
+                .description("Estimated memory of the histograms in the cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static void lookups(MeterRegistry registry, String result, AtomicLong counter) {
+        FunctionCounter.builder("wordcount.cache.lookups", counter, AtomicLong::get)
+                .description("Lookups of histograms in the cache")
+                .tags("result", result)
+                .register(registry);
+    }
+
+    private synchronized WordCountTable lookup(ContentKey key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(ContentKey key, WordCountTable table) {
+        long tableWeight = table.memoryFootprint();
+        if (tableWeight > maxWeight) {
+            return;
+        }
+        WordCountTable previous = entries.put(key, table);
+        weight += tableWeight - (previous == null ? 0 : previous.memoryFootprint());
+
+        Iterator<Map.Entry<ContentKey, WordCountTable>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            weight -= eldest.next().getValue().memoryFootprint();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static WordCountTable await(CompletableFuture<WordCountTable> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ordina_assessment.word_count.analyzer.cache;
+
+/**
+ * Counters of the {@link HistogramCache}.
+ *
+ * @param hits      the number of lookups answered from the cache
+ * @param misses    the number of lookups that counted the text
+ * @param coalesced the number of lookups that waited for an identical in-flight computation
+ * @param evictions the number of histograms evicted to stay within the weight limit
+ * @param entries   the number of cached histograms
+ * @param weight    the estimated memory used by the cached histograms, in bytes
+ */
+public record HistogramCacheStats(long hits, long misses, long coalesced, long evictions, long entries, long weight) {
+}
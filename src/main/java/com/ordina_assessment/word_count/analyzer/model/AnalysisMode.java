@@ -0,0 +1,13 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+/**
+ * How word frequencies are computed.
+ */
+public enum AnalysisMode {
+    /** Every distinct word is counted exactly; memory grows with the vocabulary of the text. */
+    EXACT,
+    /** Frequencies are estimated from fixed-size summaries that never underestimate. */
+    APPROXIMATE,
+    /** Every distinct word is counted exactly, in shards on the peer instances configured for this coordinator. */
+    DISTRIBUTED
+}
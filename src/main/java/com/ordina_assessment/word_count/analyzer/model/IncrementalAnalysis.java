@@ -0,0 +1,20 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * An analysis of a text that arrives in parts, such as a request body read without blocking.
+ * <p>
+ * Every part is tokenized when it is fed, so the text is never held as a whole. Words may span parts. The results
+ * are available once {@link #finish()} has been called. An instance is used by one thread at a time.
+ */
+public interface IncrementalAnalysis {
+    void feed(ByteBuffer utf8);
+    void finish();
+
+    int highestFrequency();
+    int frequency(String word);
+    List<WordFrequency> mostFrequentWords(int n);
+    WordFrequencyAnalysis analysis(List<String> words, int n);
+}
@@ -0,0 +1,20 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts phrases of consecutive words. Only exact analyzers count phrases: a phrase crosses the boundaries that
+ * sketches and shards are built on.
+ */
+public interface PhraseFrequencyAnalyzer {
+    int calculateHighestPhraseFrequency(String text, int phraseSize);
+    int calculateFrequencyForPhrase(String text, String phrase, int phraseSize);
+    List<WordFrequency> calculateMostFrequentNPhrases(String text, int phraseSize, int n);
+
+    int calculateHighestPhraseFrequency(WordSource source, int phraseSize) throws IOException;
+    int calculateFrequencyForPhrase(WordSource source, String phrase, int phraseSize) throws IOException;
+    List<WordFrequency> calculateMostFrequentNPhrases(WordSource source, int phraseSize, int n) throws IOException;
+
+    IncrementalAnalysis startPhraseAnalysis(int phraseSize);
+}
@@ -0,0 +1,10 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+import java.util.List;
+import java.util.Map;
+
+public interface WordFrequencyAnalysis {
+    int highestFrequency();
+    Map<String, Integer> frequencies();
+    List<WordFrequency> mostFrequentWords();
+}
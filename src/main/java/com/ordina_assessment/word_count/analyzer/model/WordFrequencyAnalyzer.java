@@ -1,5 +1,7 @@
 package com.ordina_assessment.word_count.analyzer.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 
@@ -7,4 +9,26 @@ public interface WordFrequencyAnalyzer {
     int calculateHighestFrequency(String text);
     int calculateFrequencyForWord(String text, String word);
     List<WordFrequency> calculateMostFrequentNWords(String text, int n);
+
+    int calculateHighestFrequency(WordSource source) throws IOException;
+    int calculateFrequencyForWord(WordSource source, String word) throws IOException;
+    List<WordFrequency> calculateMostFrequentNWords(WordSource source, int n) throws IOException;
+
+    int calculateHighestFrequency(Path path) throws IOException;
+    int calculateFrequencyForWord(Path path, String word) throws IOException;
+    List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException;
+
+    WordFrequencyAnalysis analyze(String text, List<String> words, int n);
+    WordFrequencyAnalysis analyze(WordSource source, List<String> words, int n) throws IOException;
+
+    IncrementalAnalysis startAnalysis();
+
+    /**
+     * @param text a text to analyze
+     * @return whether analyzing the text may wait for other threads or instances, and so does not belong on an
+     * event loop
+     */
+    default boolean mayBlock(String text) {
+        return false;
+    }
 }
@@ -0,0 +1,12 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+/**
+ * Receives the words produced by a tokenizer.
+ * <p>
+ * Words are handed out as spans of a buffer owned by the tokenizer. The bytes are the lower-cased
+ * ASCII word characters, and they are only valid for the duration of the call.
+ */
+@FunctionalInterface
+public interface WordSink {
+    void accept(byte[] word, int offset, int length);
+}
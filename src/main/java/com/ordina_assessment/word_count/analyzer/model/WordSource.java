@@ -0,0 +1,19 @@
+package com.ordina_assessment.word_count.analyzer.model;
+
+import java.io.IOException;
+
+/**
+ * A text that is tokenized on demand, such as a request body that is read incrementally.
+ * A source can only be consumed once.
+ */
+@FunctionalInterface
+public interface WordSource {
+
+    /**
+     * Tokenize the whole text and pass every word to the sink.
+     *
+     * @param sink the sink receiving every word
+     * @throws IOException if the text can not be read
+     */
+    void forEachWord(WordSink sink) throws IOException;
+}
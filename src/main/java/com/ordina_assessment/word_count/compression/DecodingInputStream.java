@@ -0,0 +1,152 @@
+package com.ordina_assessment.word_count.compression;
+
+import com.ordina_assessment.word_count.exception.MalformedRequestBodyException;
+import com.ordina_assessment.word_count.exception.RequestBodyTooLargeException;
+import com.ordina_assessment.word_count.exception.UnsupportedContentEncodingException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * The decoded body of a compressed request, inflated while it is read through a fixed-size input buffer.
+ * <p>
+ * The number of decoded bytes is limited in total, and relative to the number of compressed bytes read once more
+ * than {@link #RATIO_GRACE_BYTES} have been decoded, so a small body can not expand into an unbounded amount of
+ * work. Bytes are only ever inflated into the buffer of the caller.
+ */
+final class DecodingInputStream extends ServletInputStream {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    /** Decoded bytes below which the compression ratio is not checked; short texts of repeated words compress very well. */
+    static final long RATIO_GRACE_BYTES = 1 << 20;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final String encoding;
+    private final ServletInputStream body;
+    private final CountingInputStream compressed;
+    private final InputStream decoded;
+    private final long maxDecodedBytes;
+    private final long maxRatio;
+    private long decodedBytes;
+    private boolean finished;
+
+    /**
+     * @param encoding        the content coding of the body, gzip or deflate
+     * @param body            the compressed body
+     * @param maxDecodedBytes the maximum number of decoded bytes
+     * @param maxRatio        the maximum number of decoded bytes per compressed byte
+     * @throws IOException if the header of a gzip body can not be read
+     */
+    DecodingInputStream(String encoding, ServletInputStream body, long maxDecodedBytes, long maxRatio) throws IOException {
+        this.encoding = encoding;
+        this.body = body;
+        this.compressed = new CountingInputStream(body);
+        this.maxDecodedBytes = maxDecodedBytes;
+        this.maxRatio = maxRatio;
+        try {
+            // RFC 9110 defines deflate as the zlib format, with a header and checksum around the deflate data
+            this.decoded = GZIP.equals(encoding)
+                    ? new GZIPInputStream(compressed, BUFFER_SIZE)
+                    : new InflaterInputStream(compressed, new Inflater(), BUFFER_SIZE);
+        } catch (ZipException | EOFException e) {
+            throw new MalformedRequestBodyException(encoding, e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read;
+        try {
+            read = decoded.read(buffer, offset, length);
+        } catch (ZipException | EOFException e) {
+            throw new MalformedRequestBodyException(encoding, e);
+        }
+        if (read < 0) {
+            finished = true;
+            return read;
+        }
+        decodedBytes += read;
+        if (decodedBytes > maxDecodedBytes) {
+            throw new RequestBodyTooLargeException(String.format("more than %d bytes", maxDecodedBytes));
+        }
+        if (decodedBytes > RATIO_GRACE_BYTES && decodedBytes > maxRatio * compressed.count) {
+            throw new RequestBodyTooLargeException(String.format(
+                    "%d bytes decoded from %d compressed bytes exceed the ratio of %d", decodedBytes, compressed.count, maxRatio));
+        }
+        return read;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return whether the compressed body is ready, which the container only reports while it is read asynchronously
+     */
+    @Override
+    public boolean isReady() {
+        return finished || body.isReady();
+    }
+
+    /**
+     * Bodies are decoded by blocking reads only: the inflater may need more compressed bytes than are ready to
+     * decode any byte at all. An asynchronous read is rejected as an unsupported use of the content coding.
+     */
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        throw new UnsupportedContentEncodingException(String.format(
+                "Request bodies with the content encoding '%s' can not be read asynchronously", encoding));
+    }
+
+    @Override
+    public void close() throws IOException {
+        decoded.close();
+    }
+
+    /**
+     * Counts the compressed bytes handed to the inflater.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ordina_assessment.word_count.compression;
+
+import com.ordina_assessment.word_count.exception.UnsupportedContentEncodingException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects compressed request bodies in the reactive web application, which tokenizes every buffer as it arrives
+ * and does not decode them, instead of counting the words of the compressed bytes. The body fails when it is
+ * read, so the error is mapped like any other. Compressed bodies are decoded by the servlet application; see
+ * {@link RequestDecompressionFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveContentEncodingFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String encoding = request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.strip().equalsIgnoreCase("identity")) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest rejected = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.error(new UnsupportedContentEncodingException(encoding, "[identity]"));
+            }
+        };
+        return chain.filter(exchange.mutate().request(rejected).build());
+    }
+}
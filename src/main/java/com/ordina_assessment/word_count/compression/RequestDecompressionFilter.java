@@ -0,0 +1,155 @@
+package com.ordina_assessment.word_count.compression;
+
+import com.ordina_assessment.word_count.exception.UnsupportedContentEncodingException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decodes request bodies sent with {@code Content-Encoding: gzip} or {@code deflate}, so that every endpoint reads
+ * the plain text while it is inflated, without holding the decoded body in memory.
+ * <p>
+ * The decoded request has no content encoding and an unknown content length. A body in any other coding fails when
+ * it is read, with an {@link UnsupportedContentEncodingException}, so that the error is mapped like any other.
+ * Compressed bodies are read by blocking reads only; registering a read listener fails with the same exception.
+ * The decoded size is limited by {@code wordcount.compression.max-decoded-bytes} and
+ * {@code wordcount.compression.max-ratio}; see {@link DecodingInputStream}.
+ * <p>
+ * The filter runs right before the {@link com.ordina_assessment.word_count.admission.MeteredBodyFilter}, so that a
+ * compressed body is charged to the admission budget by its decoded bytes as they are inflated, not by the few
+ * bytes it was sent as.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the content coding a body was decoded from. */
+    public static final String CONTENT_ENCODING_ATTRIBUTE = RequestDecompressionFilter.class.getName() + ".contentEncoding";
+
+    private static final List<String> SUPPORTED_ENCODINGS = List.of(DecodingInputStream.GZIP, DecodingInputStream.DEFLATE);
+
+    private final long maxDecodedBytes;
+    private final long maxRatio;
+
+    /**
+     * @param maxDecodedBytes the maximum size of a decoded body, in bytes
+     * @param maxRatio        the maximum ratio of the decoded size to the compressed size of a body
+     */
+    public RequestDecompressionFilter(@Value("${wordcount.compression.max-decoded-bytes:1073741824}") long maxDecodedBytes,
+                                      @Value("${wordcount.compression.max-ratio:100}") long maxRatio) {
+        this.maxDecodedBytes = maxDecodedBytes;
+        this.maxRatio = maxRatio;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.strip().equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(CONTENT_ENCODING_ATTRIBUTE, encoding);
+        filterChain.doFilter(new DecodedRequest(request, encoding.strip().toLowerCase(Locale.ROOT)), response);
+    }
+
+    /**
+     * A request whose body is decoded when it is first read.
+     */
+    private final class DecodedRequest extends HttpServletRequestWrapper {
+        private final String encoding;
+        private ServletInputStream decoded;
+        private BufferedReader reader;
+
+        private DecodedRequest(HttpServletRequest request, String encoding) {
+            super(request);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("The body is already read through getReader()");
+            }
+            return decoded();
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                if (decoded != null) {
+                    throw new IllegalStateException("The body is already read through getInputStream()");
+                }
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+                reader = new BufferedReader(new InputStreamReader(decoded(), charset));
+            }
+            return reader;
+        }
+
+        private ServletInputStream decoded() throws IOException {
+            if (decoded == null) {
+                if (!SUPPORTED_ENCODINGS.contains(encoding)) {
+                    throw new UnsupportedContentEncodingException(encoding, SUPPORTED_ENCODINGS.toString());
+                }
+                decoded = new DecodingInputStream(encoding, super.getInputStream(), maxDecodedBytes, maxRatio);
+            }
+            return decoded;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+    }
+
+    /**
+     * @return whether a header describes the encoded body, and no longer applies to the decoded one
+     */
+    private static boolean isHidden(String name) {
+        return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ordina_assessment.word_count.configuration;
+
+import com.ordina_assessment.word_count.admission.AdmissionInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies admission control to the word count endpoints, unless {@code wordcount.admission.enabled} is false.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "wordcount.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+
+    public AdmissionControlConfiguration(AdmissionInterceptor admissionInterceptor) {
+        this.admissionInterceptor = admissionInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor)
+                .addPathPatterns("/wordcount/**")
+                .excludePathPatterns("/wordcount/cache/**");
+    }
+}
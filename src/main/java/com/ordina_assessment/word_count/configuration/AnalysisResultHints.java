@@ -0,0 +1,20 @@
+package com.ordina_assessment.word_count.configuration;
+
+import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalysisImpl;
+import com.ordina_assessment.word_count.analyzer.WordFrequencyImpl;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the native image. The endpoints declare the interfaces of their results, so Spring AOT only
+ * registers those for JSON serialization; the records implementing them are registered here.
+ */
+public class AnalysisResultHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                WordFrequencyImpl.class, WordFrequencyAnalysisImpl.class);
+    }
+}
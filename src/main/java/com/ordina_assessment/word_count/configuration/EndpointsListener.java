@@ -1,6 +1,8 @@
 package com.ordina_assessment.word_count.configuration;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -15,9 +17,14 @@ import java.util.Map;
  * A Spring Component that listens for the ContextRefreshedEvent and logs all the available
  * endpoints within the Spring MVC application. This is helpful for debugging and ensuring all
  * expected endpoints are appropriately mapped.
+ * <p>
+ * Walking the handler mappings only adds startup time in production, so the listener is left out when
+ * {@code wordcount.endpoints-logging.enabled} is false, as in the {@code production} profile.
  */
 @Slf4j
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "wordcount.endpoints-logging.enabled", matchIfMissing = true)
 public class EndpointsListener implements ApplicationListener<ContextRefreshedEvent> {
 
     /**
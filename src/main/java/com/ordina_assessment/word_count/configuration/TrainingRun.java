@@ -0,0 +1,88 @@
+package com.ordina_assessment.word_count.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends a few typical requests to the application once it is ready and then exits, when
+ * {@code wordcount.training-run.enabled} is true. A JVM started with {@code -XX:ArchiveClassesAtExit} then archives
+ * the classes loaded by startup and by the first requests, which the production Maven profile uses to create the
+ * AppCDS archive. Does nothing otherwise.
+ * <p>
+ * The property is read at run time rather than as a bean condition, because conditions are fixed when the Spring AOT
+ * initializers are generated.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog. The dog sleeps, the fox runs! ";
+
+    private final boolean enabled;
+    private final String contextPath;
+
+    /**
+     * @param enabled     whether to send the training requests and exit
+     * @param contextPath the context path of the application
+     */
+    public TrainingRun(@Value("${wordcount.training-run.enabled:false}") boolean enabled,
+                       @Value("${server.servlet.context-path:}") String contextPath) {
+        this.enabled = enabled;
+        this.contextPath = contextPath;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + contextPath + "/wordcount";
+        boolean succeeded = true;
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String text = TEXT.repeat(100);
+            for (HttpRequest request : new HttpRequest[]{
+                    HttpRequest.newBuilder(URI.create(base + "/highest-frequency?text=the+fox+the")).build(),
+                    HttpRequest.newBuilder(URI.create(base + "/word-frequency?text=the+fox+the&n=2")).build(),
+                    post(base + "/word-frequency?n=5", text),
+                    post(base + "/frequency?word=fox", text),
+                    post(base + "/analyze?words=dog&n=3", text),
+                    HttpRequest.newBuilder(URI.create(base + "/word-frequency?text=the&n=0")).build()}) {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                log.info("Training request {} {} answered {}", request.method(), request.uri(), response.statusCode());
+            }
+        } catch (IOException e) {
+            log.error("Training request failed", e);
+            succeeded = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            succeeded = false;
+        }
+        int exitCode = succeeded ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private static HttpRequest post(String uri, String text) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "text/plain; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(text, StandardCharsets.UTF_8))
+                .build();
+    }
+}
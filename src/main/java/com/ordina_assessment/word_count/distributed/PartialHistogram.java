@@ -0,0 +1,136 @@
+package com.ordina_assessment.word_count.distributed;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordCounts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary form of the word counts of a text shard, as exchanged between a coordinator and its peers.
+ * <p>
+ * The format is the magic number {@code WCPH}, the number of distinct words and then every word as its length, its
+ * lower-cased ASCII bytes and its count. Numbers are unsigned variable-length integers of 7 bits per byte, so most
+ * words cost their length plus two bytes. Partials are merged by adding the counts of equal words, in any order.
+ */
+public final class PartialHistogram {
+
+    /** The media type of an encoded partial histogram. */
+    public static final String MEDIA_TYPE = "application/vnd.wordcount.partial-histogram";
+
+    private static final byte[] MAGIC = {'W', 'C', 'P', 'H'};
+
+    private PartialHistogram() {
+    }
+
+    /**
+     * Encode a set of counted words.
+     *
+     * @param words the counted words
+     * @return the encoded partial histogram
+     */
+    public static byte[] encode(WordCounts words) {
+        Output out = new Output(MAGIC.length + 5 + 8 * words.size());
+        out.write(MAGIC, 0, MAGIC.length);
+        out.writeVarInt(words.size());
+        for (int entry = 0; entry < words.size(); entry++) {
+            byte[] word = words.word(entry).getBytes(StandardCharsets.ISO_8859_1);
+            out.writeVarInt(word.length);
+            out.write(word, 0, word.length);
+            out.writeVarInt(words.count(entry));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Add the counts of an encoded partial histogram to a table. The words are read straight from the encoded bytes.
+     *
+     * @param partial the encoded partial histogram
+     * @param table   the table to add the counts to
+     * @throws IOException if the bytes are not a partial histogram
+     */
+    public static void mergeInto(byte[] partial, WordCountTable table) throws IOException {
+        if (partial.length < MAGIC.length || !Arrays.equals(partial, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IOException("The response is not a partial histogram");
+        }
+        Input in = new Input(partial, MAGIC.length);
+        int size = in.readVarInt();
+        for (int i = 0; i < size; i++) {
+            int length = in.readVarInt();
+            int offset = in.skip(length);
+            table.add(partial, offset, length, in.readVarInt());
+        }
+    }
+
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        private Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        private void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        private Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (position == buffer.length) {
+                    throw new IOException("The partial histogram is truncated");
+                }
+                byte b = buffer[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("The partial histogram holds a malformed number");
+        }
+
+        /**
+         * @return the position of the skipped bytes
+         */
+        private int skip(int length) throws IOException {
+            if (length < 0 || length > buffer.length - position) {
+                throw new IOException("The partial histogram is truncated");
+            }
+            int start = position;
+            position += length;
+            return start;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.ordina_assessment.word_count.distributed;
+
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordChars;
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalysisImpl;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import com.ordina_assessment.word_count.exception.PeerRequestException;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics.Input;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the WordFrequencyAnalyzer interface that counts a text on other instances of this service.
+ * <p>
+ * The text is cut at word boundaries into shards of about {@code wordcount.coordinator.shard-size} bytes, which
+ * are sent round-robin to the configured peers in parallel. Every peer returns the {@link PartialHistogram} of
+ * its shard, and the partials are merged into one table as they arrive, so every answer, including the most
+ * frequent words, is exact. At most two shards per peer are in flight, which bounds the memory of a streamed text.
+ * Feeding a text waits while they are, and finishing it waits for the peers, so neither belongs on an event loop.
+ * <p>
+ * Plain texts are forwarded as they are. Streamed texts and files are tokenized here and their words forwarded,
+ * separated by spaces, since a {@link WordSource} only yields words.
+ */
+@Slf4j
+@Service("distributedWordFrequencyAnalyzer")
+public class ScatterGatherAnalyzer implements WordFrequencyAnalyzer {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final String PARTIAL_HISTOGRAM_PATH = "/wordcount/partial-histogram?documentStart=false";
+    private static final int SHARDS_IN_FLIGHT_PER_PEER = 2;
+
+    private final List<URI> peers;
+    private final int shardSize;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final AtomicInteger nextPeer = new AtomicInteger();
+    private final AnalyzerMetrics metrics;
+    private final SampledDebugLog debugLog;
+
+    /**
+     * Constructs a ScatterGatherAnalyzer.
+     *
+     * @param peers     the base URLs of the peer instances, including their context path
+     * @param shardSize the size of a shard sent to a peer, in bytes
+     * @param timeout   the maximum time to connect to a peer and to wait for a partial histogram
+     * @param metrics   the metrics recorded for every counted text
+     * @param debugLog  the log of a sample of the analyzed texts
+     */
+    public ScatterGatherAnalyzer(@Value("${wordcount.coordinator.peers:}") List<String> peers,
+                                 @Value("${wordcount.coordinator.shard-size:4194304}") int shardSize,
+                                 @Value("${wordcount.coordinator.timeout:PT30S}") Duration timeout,
+                                 AnalyzerMetrics metrics, SampledDebugLog debugLog) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("The shard size must be positive");
+        }
+        this.peers = peers.stream()
+                .filter(peer -> !peer.isBlank())
+                .map(peer -> URI.create(peer.strip().replaceAll("/+$", "") + PARTIAL_HISTOGRAM_PATH))
+                .toList();
+        this.shardSize = shardSize;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.metrics = metrics;
+        this.debugLog = debugLog;
+    }
+
+    @Override
+    public int calculateHighestFrequency(String text) {
+        debugLog.debug(log, "Distributing the highest frequency in text: {}", text);
+        return countWords(text).maxCount();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(String text, String word) {
+        debugLog.debug(log, "Distributing frequency for word: '{}' in text: {}", word, text);
+        return countWords(text).count(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
+        debugLog.debug(log, "Distributing the most frequent {} words in text: {}", n, text);
+        return TopWords.select(countWords(text), n);
+    }
+
+    @Override
+    public int calculateHighestFrequency(WordSource source) throws IOException {
+        debugLog.debug(log, "Distributing the highest frequency in a streamed text");
+        return countWords(List.of(source), Input.STREAM).maxCount();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(WordSource source, String word) throws IOException {
+        debugLog.debug(log, "Distributing frequency for word: '{}' in a streamed text", word);
+        return countWords(List.of(source), Input.STREAM).count(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(WordSource source, int n) throws IOException {
+        debugLog.debug(log, "Distributing the most frequent {} words in a streamed text", n);
+        return TopWords.select(countWords(List.of(source), Input.STREAM), n);
+    }
+
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        debugLog.debug(log, "Distributing the highest frequency in path: {}", path);
+        return countWords(WordSources.ofTree(path), Input.FILE).maxCount();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        debugLog.debug(log, "Distributing frequency for word: '{}' in path: {}", word, path);
+        return countWords(WordSources.ofTree(path), Input.FILE).count(word);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        debugLog.debug(log, "Distributing the most frequent {} words in path: {}", n, path);
+        return TopWords.select(countWords(WordSources.ofTree(path), Input.FILE), n);
+    }
+
+    @Override
+    public WordFrequencyAnalysis analyze(String text, List<String> words, int n) {
+        debugLog.debug(log, "Distributing words: {} and the most frequent {} words in text: {}", words, n, text);
+        return analyze(countWords(text), words, n);
+    }
+
+    @Override
+    public WordFrequencyAnalysis analyze(WordSource source, List<String> words, int n) throws IOException {
+        debugLog.debug(log, "Distributing words: {} and the most frequent {} words in a streamed text", words, n);
+        return analyze(countWords(List.of(source), Input.STREAM), words, n);
+    }
+
+    @Override
+    public IncrementalAnalysis startAnalysis() {
+        debugLog.debug(log, "Starting a distributed incremental analysis");
+        return new DistributedIncrementalAnalysis();
+    }
+
+    /**
+     * Every text is counted by the peers, which are waited for.
+     */
+    @Override
+    public boolean mayBlock(String text) {
+        return true;
+    }
+
+    private WordCountTable countWords(String text) {
+        long start = System.nanoTime();
+        Scatter scatter = new Scatter();
+        // The shards are counted as segments, so the empty words of a whole text are counted here
+        if (text.isEmpty() || WordTokenizer.startsWithEmptyWord(text)) {
+            scatter.accept(EMPTY, 0, 0);
+        }
+        for (int from = 0; from < text.length(); ) {
+            int to = wordBoundary(text, Math.min(text.length(), from + shardSize));
+            scatter.send(text.substring(from, to).getBytes(StandardCharsets.UTF_8));
+            from = to;
+        }
+        WordCountTable wordCounts = scatter.gather();
+        record(Input.TEXT, text.length(), wordCounts, start);
+        return wordCounts;
+    }
+
+    private WordCountTable countWords(List<WordSource> sources, Input input) throws IOException {
+        long start = System.nanoTime();
+        Scatter scatter = new Scatter();
+        for (WordSource source : sources) {
+            source.forEachWord(scatter);
+        }
+        WordCountTable wordCounts = scatter.gather();
+        record(input, AnalyzerMetrics.UNKNOWN, wordCounts, start);
+        return wordCounts;
+    }
+
+    private void record(Input input, long inputLength, WordCountTable wordCounts, long start) {
+        metrics.recordCount(AnalysisMode.DISTRIBUTED, input, inputLength, wordCounts.totalCount(), wordCounts.size(), start);
+    }
+
+    private static WordFrequencyAnalysis analyze(WordCountTable wordCounts, List<String> words, int n) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String word : words) {
+            frequencies.put(word, wordCounts.count(word));
+        }
+        return new WordFrequencyAnalysisImpl(wordCounts.maxCount(), frequencies, TopWords.select(wordCounts, n));
+    }
+
+    /**
+     * @return the first index at or after the given one that does not fall inside a word
+     */
+    private static int wordBoundary(String text, int index) {
+        while (index < text.length() && WordChars.isWordChar(text.charAt(index - 1)) && WordChars.isWordChar(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Sends shards to the peers and merges their partial histograms. Words passed to the sink are collected into
+     * shards of space-separated words; empty words are counted locally.
+     */
+    private final class Scatter implements WordSink {
+        private final WordCountTable merged = new WordCountTable();
+        private final List<CompletableFuture<Void>> responses = new ArrayList<>();
+        private final Semaphore inFlight = new Semaphore(SHARDS_IN_FLIGHT_PER_PEER * Math.max(1, peers.size()));
+        private byte[] shard = new byte[0];
+        private int length;
+
+        private Scatter() {
+            if (peers.isEmpty()) {
+                throw new IllegalArgumentException("The distributed mode needs at least one peer in wordcount.coordinator.peers");
+            }
+        }
+
+        @Override
+        public void accept(byte[] word, int offset, int wordLength) {
+            if (wordLength == 0) {
+                synchronized (merged) {
+                    merged.accept(EMPTY, 0, 0);
+                }
+                return;
+            }
+            if (length + wordLength + 1 > shard.length) {
+                if (length > 0) {
+                    send(Arrays.copyOf(shard, length));
+                    length = 0;
+                }
+                if (wordLength + 1 > shard.length) {
+                    shard = new byte[Math.max(shardSize, wordLength + 1)];
+                }
+            }
+            System.arraycopy(word, offset, shard, length, wordLength);
+            length += wordLength;
+            shard[length++] = ' ';
+        }
+
+        private void send(byte[] utf8) {
+            inFlight.acquireUninterruptibly();
+            URI peer = peers.get(Math.floorMod(nextPeer.getAndIncrement(), peers.size()));
+            HttpRequest request = HttpRequest.newBuilder(peer)
+                    .timeout(timeout)
+                    .header("Content-Type", "text/plain; charset=UTF-8")
+                    .header("Accept", PartialHistogram.MEDIA_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(utf8))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenAccept(response -> merge(peer, response))
+                    .whenComplete((ignored, failure) -> inFlight.release()));
+        }
+
+        private void merge(URI peer, HttpResponse<byte[]> response) {
+            if (response.statusCode() != 200) {
+                throw new PeerRequestException(peer.toString(), "status " + response.statusCode(), null);
+            }
+            try {
+                synchronized (merged) {
+                    PartialHistogram.mergeInto(response.body(), merged);
+                }
+            } catch (IOException e) {
+                throw new PeerRequestException(peer.toString(), e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Send the last shard and wait for every partial histogram.
+         *
+         * @return the merged counts of all shards
+         */
+        private WordCountTable gather() {
+            if (length > 0) {
+                send(Arrays.copyOf(shard, length));
+                length = 0;
+            }
+            try {
+                CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof PeerRequestException peerRequestException) {
+                    throw peerRequestException;
+                }
+                throw new PeerRequestException("unknown", String.valueOf(e.getCause()), e.getCause());
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * Tokenizes a text fed in parts here, and has its words counted by the peers.
+     */
+    private final class DistributedIncrementalAnalysis implements IncrementalAnalysis {
+        private final long start = System.nanoTime();
+        private final Scatter scatter = new Scatter();
+        private final WordTokenizer tokenizer = new WordTokenizer(scatter);
+        private WordCountTable wordCounts;
+
+        @Override
+        public void feed(ByteBuffer utf8) {
+            tokenizer.feed(utf8);
+        }
+
+        @Override
+        public void finish() {
+            tokenizer.finish();
+            wordCounts = scatter.gather();
+            record(Input.STREAM, AnalyzerMetrics.UNKNOWN, wordCounts, start);
+        }
+
+        @Override
+        public int highestFrequency() {
+            return wordCounts.maxCount();
+        }
+
+        @Override
+        public int frequency(String word) {
+            return wordCounts.count(word);
+        }
+
+        @Override
+        public List<WordFrequency> mostFrequentWords(int n) {
+            return TopWords.select(wordCounts, n);
+        }
+
+        @Override
+        public WordFrequencyAnalysis analysis(List<String> words, int n) {
+            return analyze(wordCounts, words, n);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a request can not be admitted because the input being analyzed concurrently stays over budget.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(long requestBytes, long maxBytes) {
+        super(String.format("The server is busy analyzing other requests; %d bytes could not be admitted within the "
+                + "budget of %d concurrent bytes", requestBytes, maxBytes));
+    }
+}
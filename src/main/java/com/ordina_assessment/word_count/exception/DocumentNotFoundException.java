@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when no index has been built for a document.
+ */
+public class DocumentNotFoundException extends RuntimeException {
+
+    public DocumentNotFoundException(String id) {
+        super(String.format("The document '%s' has not been indexed", id));
+    }
+}
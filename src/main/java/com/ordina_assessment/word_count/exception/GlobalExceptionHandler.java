@@ -11,7 +11,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
 
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -50,6 +54,22 @@ public class GlobalExceptionHandler {
         return buildResponse(error, message, HttpStatus.BAD_REQUEST);
     }
 
+    // Reactive counterpart of MissingServletRequestParameterException
+    @ExceptionHandler(MissingRequestValueException.class)
+    public ResponseEntity<ErrorResponse> handleMissingRequestValue(MissingRequestValueException ex) {
+        String error = "Missing Request Parameter";
+        String message = ex.getName() + " parameter is missing";
+        return buildResponse(error, message, HttpStatus.BAD_REQUEST);
+    }
+
+    // Reactive counterpart of the binding and type mismatch exceptions
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        String error = "Invalid Request Input";
+        String message = ex.getReason();
+        return buildResponse(error, message, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(TypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleTypeMismatch(TypeMismatchException ex) {
         String error = "Type Mismatch";
@@ -73,6 +93,83 @@ public class GlobalExceptionHandler {
         return buildResponse(error, message, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MalformedRequestBodyException.class)
+    public ResponseEntity<ErrorResponse> handleMalformedRequestBodyException(MalformedRequestBodyException ex) {
+        String error = "Malformed Request Body";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RequestBodyTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleRequestBodyTooLargeException(RequestBodyTooLargeException ex) {
+        String error = "Payload Too Large";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(UnsupportedContentEncodingException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedContentEncodingException(UnsupportedContentEncodingException ex) {
+        String error = "Unsupported Media Type";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @ExceptionHandler(NoSuchFileException.class)
+    public ResponseEntity<ErrorResponse> handleNoSuchFileException(NoSuchFileException ex) {
+        String error = "File Not Found";
+        String message = String.format("The path '%s' does not exist", ex.getFile());
+        return buildResponse(error, message, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex) {
+        String error = "Access Denied";
+        String message = String.format("The path '%s' can not be analyzed: %s", ex.getFile(), ex.getReason());
+        return buildResponse(error, message, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSessionNotFoundException(SessionNotFoundException ex) {
+        String error = "Session Not Found";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(DocumentNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleDocumentNotFoundException(DocumentNotFoundException ex) {
+        String error = "Document Not Found";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(SessionLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSessionLimitExceededException(SessionLimitExceededException ex) {
+        String error = "Session Limit Exceeded";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(TooManySessionsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManySessionsException(TooManySessionsException ex) {
+        String error = "Too Many Sessions";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejectedException(AdmissionRejectedException ex) {
+        String error = "Service Unavailable";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(PeerRequestException.class)
+    public ResponseEntity<ErrorResponse> handlePeerRequestException(PeerRequestException ex) {
+        String error = "Bad Gateway";
+        String message = ex.getMessage();
+        return buildResponse(error, message, HttpStatus.BAD_GATEWAY);
+    }
+
     // Generic exception handler as a fallback
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a compressed request body is not valid data of its content coding.
+ */
+public class MalformedRequestBodyException extends RuntimeException {
+
+    public MalformedRequestBodyException(String encoding, Throwable cause) {
+        super(String.format("The request body is not valid %s data: %s", encoding, cause.getMessage()), cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a peer instance does not return the partial histogram of a shard.
+ */
+public class PeerRequestException extends RuntimeException {
+
+    public PeerRequestException(String peer, String reason, Throwable cause) {
+        super(String.format("The peer '%s' could not count a shard: %s", peer, reason), cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a compressed request body decodes to more bytes than allowed, in total or relative to its size.
+ */
+public class RequestBodyTooLargeException extends RuntimeException {
+
+    public RequestBodyTooLargeException(String reason) {
+        super(String.format("The decoded request body is too large: %s", reason));
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a word count session would exceed its configured memory limit.
+ */
+public class SessionLimitExceededException extends RuntimeException {
+
+    public SessionLimitExceededException(String message) {
+        super(message);
+    }
+}
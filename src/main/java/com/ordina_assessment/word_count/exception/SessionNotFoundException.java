@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a word count session does not exist, or has expired.
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(String id) {
+        super(String.format("The session '%s' does not exist or has expired", id));
+    }
+}
@@ -0,0 +1,11 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a word count session is requested while the maximum number of sessions is open.
+ */
+public class TooManySessionsException extends RuntimeException {
+
+    public TooManySessionsException(int maxSessions) {
+        super(String.format("The maximum of %d open sessions has been reached", maxSessions));
+    }
+}
@@ -0,0 +1,16 @@
+package com.ordina_assessment.word_count.exception;
+
+/**
+ * Thrown when a request body is compressed with a content coding the server can not decode, or is to be read in a
+ * way that compressed bodies are not.
+ */
+public class UnsupportedContentEncodingException extends RuntimeException {
+
+    public UnsupportedContentEncodingException(String encoding, String supported) {
+        super(String.format("The content encoding '%s' is not supported; use one of %s", encoding, supported));
+    }
+
+    public UnsupportedContentEncodingException(String message) {
+        super(message);
+    }
+}
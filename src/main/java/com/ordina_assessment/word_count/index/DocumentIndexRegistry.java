@@ -0,0 +1,159 @@
+package com.ordina_assessment.word_count.index;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import com.ordina_assessment.word_count.exception.DocumentNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the {@link TermIndex} of every registered document, one file per document in the configured directory.
+ * <p>
+ * Indexes are kept on disk across restarts and are only mapped when a document is first queried, so startup does
+ * not depend on the number of documents. Registering a document again replaces its index. Registering, loading
+ * and deleting the same document are serialized.
+ */
+@Slf4j
+@Component
+public class DocumentIndexRegistry implements MeterBinder {
+
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+    private static final String EXTENSION = ".idx";
+
+    private final Path directory;
+    private final Map<String, TermIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the directory holding the index files
+     */
+    public DocumentIndexRegistry(@Value("${wordcount.documents.directory:data/documents}") String directory) {
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Count the words of a document and store their index, replacing any previous index of the document.
+     *
+     * @param id     the identifier of the document
+     * @param source the words of the document
+     * @return the index of the document
+     * @throws IOException              if the document can not be read or the index can not be written
+     * @throws IllegalArgumentException if the identifier is not valid
+     */
+    public TermIndex put(String id, WordSource source) throws IOException {
+        Path path = path(id);
+        WordCountTable table = new WordCountTable();
+        source.forEachWord(table);
+        TermIndex index = update(id, current -> {
+            Files.createDirectories(directory);
+            TermIndex.write(table, path);
+            return TermIndex.open(path);
+        });
+        log.info("Indexed document: {} with {} distinct words", id, index.size());
+        return index;
+    }
+
+    /**
+     * @param id the identifier of the document
+     * @return the index of the document, mapped on first use
+     * @throws IOException               if the index can not be read
+     * @throws IllegalArgumentException  if the identifier is not valid
+     * @throws DocumentNotFoundException if the document has not been indexed
+     */
+    public TermIndex get(String id) throws IOException {
+        TermIndex index = indexes.get(id);
+        if (index != null) {
+            return index;
+        }
+        Path path = path(id);
+        return update(id, current -> {
+            // A concurrent registration or load of the same document got there first
+            if (current != null) {
+                return current;
+            }
+            try {
+                return TermIndex.open(path);
+            } catch (NoSuchFileException e) {
+                throw new DocumentNotFoundException(id);
+            }
+        });
+    }
+
+    /**
+     * Remove the index of a document.
+     *
+     * @param id the identifier of the document
+     * @throws IOException               if the index can not be deleted
+     * @throws IllegalArgumentException  if the identifier is not valid
+     * @throws DocumentNotFoundException if the document has not been indexed
+     */
+    public void delete(String id) throws IOException {
+        Path path = path(id);
+        update(id, current -> {
+            if (!Files.deleteIfExists(path)) {
+                throw new DocumentNotFoundException(id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Register the number of mapped indexes.
+     *
+     * @param registry the registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("wordcount.documents.loaded", indexes, Map::size)
+                .description("Document indexes mapped into memory")
+                .register(registry);
+    }
+
+    /**
+     * Replace the index of a document while holding its entry, so that registering, loading and deleting the same
+     * document run one after another, and a document whose file is deleted is never mapped again. The index is
+     * left as it was if the update fails.
+     */
+    private TermIndex update(String id, IndexUpdate update) throws IOException {
+        try {
+            return indexes.compute(id, (key, current) -> {
+                try {
+                    return update.apply(current);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        /**
+         * @param current the index of the document, or null if it is not mapped
+         * @return the new index of the document, or null to unmap it
+         */
+        TermIndex apply(TermIndex current) throws IOException;
+    }
+
+    private Path path(String id) {
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException(
+                    "A document identifier consists of 1 to 128 letters, digits, underscores or hyphens");
+        }
+        return directory.resolve(id + EXTENSION);
+    }
+}
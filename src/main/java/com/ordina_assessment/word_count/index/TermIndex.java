@@ -0,0 +1,244 @@
+package com.ordina_assessment.word_count.index;
+
+import com.ordina_assessment.word_count.analyzer.WordChars;
+import com.ordina_assessment.word_count.analyzer.WordCounts;
+import com.ordina_assessment.word_count.analyzer.WordFrequencyImpl;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only word counts of a document, stored in a file that is memory-mapped instead of read.
+ * <p>
+ * The file holds a 32-byte header followed by four sections, all big-endian:
+ * <ol>
+ *     <li>the offsets of the terms in the dictionary, one per term plus the end offset</li>
+ *     <li>the count of every term</li>
+ *     <li>the terms ordered by count descending and then alphabetically, as term numbers</li>
+ *     <li>the dictionary: the lower-cased terms in alphabetical order, concatenated</li>
+ * </ol>
+ * A word is looked up by binary search over the dictionary in O(log V) for V terms, the highest frequency is read
+ * from the header and the most frequent n words are the first n entries of the ranking. Opening an index only maps
+ * the file; its pages are read by the operating system when they are first touched.
+ */
+public final class TermIndex {
+
+    private static final int MAGIC = 0x57434958; // "WCIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private final int size;
+    private final int maxCount;
+    private final long totalCount;
+    private final IntBuffer offsets;
+    private final IntBuffer counts;
+    private final IntBuffer ranking;
+    private final ByteBuffer dictionary;
+
+    private TermIndex(ByteBuffer file, Path path) throws IOException {
+        if (file.capacity() < HEADER_SIZE || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+            throw new IOException(String.format("The file '%s' is not a term index", path));
+        }
+        size = file.getInt(8);
+        maxCount = file.getInt(12);
+        totalCount = file.getLong(16);
+        int dictionaryLength = file.getInt(24);
+        int position = HEADER_SIZE;
+        offsets = file.slice(position, 4 * (size + 1)).asIntBuffer();
+        position += 4 * (size + 1);
+        counts = file.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        ranking = file.slice(position, 4 * size).asIntBuffer();
+        position += 4 * size;
+        dictionary = file.slice(position, dictionaryLength);
+    }
+
+    /**
+     * Map an index file.
+     *
+     * @param path the index file
+     * @return the index
+     * @throws IOException if the file can not be read or is not a term index
+     */
+    public static TermIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException(String.format("The file '%s' is too large for a term index", path));
+            }
+            return new TermIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, length), path);
+        }
+    }
+
+    /**
+     * Write the index of a set of counted words. The file is written next to the target and moved in place,
+     * so readers see either the previous index or the complete new one.
+     *
+     * @param words the counted words
+     * @param path  the index file to create or replace
+     * @throws IOException if the file can not be written
+     */
+    public static void write(WordCounts words, Path path) throws IOException {
+        int size = words.size();
+        Integer[] sorted = new Integer[size];
+        Arrays.setAll(sorted, entry -> entry);
+        Arrays.sort(sorted, words::compareWords);
+
+        byte[][] terms = new byte[size][];
+        int[] counts = new int[size];
+        long dictionaryLength = 0;
+        int maxCount = 0;
+        long totalCount = 0;
+        for (int term = 0; term < size; term++) {
+            terms[term] = words.word(sorted[term]).getBytes(StandardCharsets.ISO_8859_1);
+            counts[term] = words.count(sorted[term]);
+            dictionaryLength += terms[term].length;
+            maxCount = Math.max(maxCount, counts[term]);
+            totalCount += counts[term];
+        }
+        if (HEADER_SIZE + 4L * (3L * size + 1) + dictionaryLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The document has too many distinct words to be indexed");
+        }
+
+        // The sort is stable, so terms with equal counts stay in alphabetical order
+        Integer[] ranking = new Integer[size];
+        Arrays.setAll(ranking, term -> term);
+        Arrays.sort(ranking, (a, b) -> Integer.compare(counts[b], counts[a]));
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 65536));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                out.writeInt(maxCount);
+                out.writeLong(totalCount);
+                out.writeInt((int) dictionaryLength);
+                out.writeInt(0);
+                int offset = 0;
+                for (byte[] term : terms) {
+                    out.writeInt(offset);
+                    offset += term.length;
+                }
+                out.writeInt(offset);
+                for (int count : counts) {
+                    out.writeInt(count);
+                }
+                for (int term : ranking) {
+                    out.writeInt(term);
+                }
+                for (byte[] term : terms) {
+                    out.write(term);
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return the number of distinct words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the total number of words
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the highest frequency of any word
+     */
+    public int highestFrequency() {
+        return maxCount;
+    }
+
+    /**
+     * @param word the word to count, compared ignoring case
+     * @return the frequency of the word
+     */
+    public int frequency(String word) {
+        byte[] folded = WordChars.foldWord(word);
+        int term = folded == null ? -1 : find(folded);
+        return term < 0 ? 0 : counts.get(term);
+    }
+
+    /**
+     * @param n the number of top frequent words to return
+     * @return the most frequent 'n' words, ordered by frequency and then alphabetically
+     */
+    public List<WordFrequency> mostFrequentNWords(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(Integer.toString(n));
+        }
+        int length = Math.min(n, size);
+        List<WordFrequency> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            int term = ranking.get(i);
+            result.add(new WordFrequencyImpl(term(term), counts.get(term)));
+        }
+        return result;
+    }
+
+    private int find(byte[] word) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(middle, word);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compare a term of the dictionary to a word, byte by byte as unsigned values like {@link WordCounts#compareWords}.
+     */
+    private int compare(int term, byte[] word) {
+        int start = offsets.get(term);
+        int length = offsets.get(term + 1) - start;
+        for (int i = 0, common = Math.min(length, word.length); i < common; i++) {
+            int comparison = Byte.compareUnsigned(dictionary.get(start + i), word[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, word.length);
+    }
+
+    private String term(int term) {
+        int start = offsets.get(term);
+        byte[] bytes = new byte[offsets.get(term + 1) - start];
+        dictionary.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
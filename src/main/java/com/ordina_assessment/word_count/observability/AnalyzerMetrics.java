@@ -0,0 +1,110 @@
+package com.ordina_assessment.word_count.observability;
+
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long counting the words of a text takes and how large the text is.
+ * <p>
+ * Every meter is tagged with the analysis mode and the kind of input. Distributions publish percentile histograms,
+ * so quantiles can be aggregated across instances in Prometheus. Only actual counting is recorded; histograms
+ * served from the cache are not.
+ */
+@Component
+public class AnalyzerMetrics {
+
+    /** Input values that are not known, such as the size of a streamed text. */
+    public static final long UNKNOWN = -1;
+
+    /** The kind of input that was counted. */
+    public enum Input {
+        TEXT, STREAM, FILE
+    }
+
+    private final Meters[][] meters = new Meters[AnalysisMode.values().length][Input.values().length];
+
+    /**
+     * @param registry the registry the meters are registered with
+     */
+    public AnalyzerMetrics(MeterRegistry registry) {
+        for (AnalysisMode mode : AnalysisMode.values()) {
+            for (Input input : Input.values()) {
+                meters[mode.ordinal()][input.ordinal()] = new Meters(registry, Tags.of(
+                        "mode", mode.name().toLowerCase(Locale.ROOT),
+                        "input", input.name().toLowerCase(Locale.ROOT)));
+            }
+        }
+    }
+
+    /**
+     * Record one count of a text.
+     *
+     * @param mode        the analysis mode
+     * @param input       the kind of input
+     * @param inputLength the length of the input in characters, or {@link #UNKNOWN}
+     * @param tokens      the number of words counted
+     * @param vocabulary  the number of distinct words counted, or {@link #UNKNOWN}
+     * @param startNanos  the {@link System#nanoTime()} at which counting started
+     */
+    public void recordCount(AnalysisMode mode, Input input, long inputLength, long tokens, long vocabulary, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Meters meters = this.meters[mode.ordinal()][input.ordinal()];
+        meters.duration.record(nanos, TimeUnit.NANOSECONDS);
+        meters.tokens.record(tokens);
+        if (inputLength != UNKNOWN) {
+            meters.inputSize.record(inputLength);
+        }
+        if (vocabulary != UNKNOWN) {
+            meters.vocabulary.record(vocabulary);
+        }
+        if (nanos > 0) {
+            meters.throughput.record(tokens * 1e9 / nanos);
+        }
+    }
+
+    private static final class Meters {
+        private final Timer duration;
+        private final DistributionSummary inputSize;
+        private final DistributionSummary tokens;
+        private final DistributionSummary vocabulary;
+        private final DistributionSummary throughput;
+
+        private Meters(MeterRegistry registry, Tags tags) {
+            duration = Timer.builder("wordcount.count.duration")
+                    .description("Time taken to count the words of a text")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            inputSize = DistributionSummary.builder("wordcount.input.size")
+                    .description("Length of the counted texts")
+                    .baseUnit("characters")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            tokens = DistributionSummary.builder("wordcount.tokens")
+                    .description("Number of words in the counted texts")
+                    .baseUnit("words")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            vocabulary = DistributionSummary.builder("wordcount.vocabulary")
+                    .description("Number of distinct words in the counted texts")
+                    .baseUnit("words")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            throughput = DistributionSummary.builder("wordcount.throughput")
+                    .description("Words counted per second")
+                    .baseUnit("words.per.second")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
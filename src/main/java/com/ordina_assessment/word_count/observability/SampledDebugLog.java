@@ -0,0 +1,59 @@
+package com.ordina_assessment.word_count.observability;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes debug messages about analyzed texts for a sample of the requests, with every argument capped in length.
+ * <p>
+ * Texts can be many megabytes long, so logging them in full for every request costs more than analyzing them.
+ * Arguments are only formatted when the message is sampled and debug logging is enabled.
+ */
+@Component
+public class SampledDebugLog {
+
+    private final double sampleRate;
+    private final int maxArgumentLength;
+
+    /**
+     * @param sampleRate        the fraction of messages that are written, between 0 and 1
+     * @param maxArgumentLength the maximum number of characters of an argument that are written
+     */
+    public SampledDebugLog(@Value("${wordcount.logging.sample-rate:0.01}") double sampleRate,
+                           @Value("${wordcount.logging.max-argument-length:200}") int maxArgumentLength) {
+        this.sampleRate = sampleRate;
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    /**
+     * Write a debug message if it is sampled.
+     *
+     * @param log       the logger to write to
+     * @param format    the message format
+     * @param arguments the message arguments, which are shortened if their string form is too long
+     */
+    public void debug(Logger log, String format, Object... arguments) {
+        if (sampleRate <= 0 || !log.isDebugEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        Object[] capped = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            capped[i] = cap(arguments[i]);
+        }
+        log.debug(format, capped);
+    }
+
+    private Object cap(Object argument) {
+        if (argument instanceof Number || argument == null) {
+            return argument;
+        }
+        CharSequence value = argument instanceof CharSequence text ? text : argument.toString();
+        if (value.length() <= maxArgumentLength) {
+            return value;
+        }
+        return value.subSequence(0, maxArgumentLength) + "... (" + value.length() + " characters)";
+    }
+}
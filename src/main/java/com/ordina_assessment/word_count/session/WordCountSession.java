@@ -0,0 +1,184 @@
+package com.ordina_assessment.word_count.session;
+
+import com.ordina_assessment.word_count.analyzer.FrequencyRanking;
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordFrequencyImpl;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.exception.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A text that grows by appended chunks, with word counts that are kept up to date incrementally.
+ * <p>
+ * The chunks are tokenized as if they were concatenated, so a word may continue in the next chunk. Queries count
+ * the trailing word as it stands, as if the text ended there, without ending it. Next to the counts a
+ * {@link FrequencyRanking} is maintained, so the most frequent words are read from the top of the ranking instead
+ * of from a full count.
+ * <p>
+ * The memory limit covers the counts, the ranking and the trailing word, including the growth of their arrays.
+ * A chunk that would exceed it is applied up to the word that does not fit; the trailing word is discarded and
+ * the session rejects further appends, while its counts can still be queried.
+ * <p>
+ * Appends should be sent one after another; concurrent appends to the same session interleave their chunks.
+ */
+public class WordCountSession implements WordSink {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final Comparator<WordFrequency> RANKING_ORDER = Comparator.comparingInt(WordFrequency::frequency)
+            .reversed()
+            .thenComparing(WordFrequency::word);
+
+    private final String id;
+    private final long maxMemory;
+    private final WordCountTable wordCounts = new WordCountTable();
+    private final FrequencyRanking ranking = new FrequencyRanking();
+    private final WordTokenizer tokenizer = new WordTokenizer(this);
+    private long pendingMemory;
+    private boolean failed;
+    private volatile long lastAccess;
+
+    /**
+     * @param id        the identifier of the session
+     * @param maxMemory the maximum estimated memory of the counts, in bytes
+     */
+    public WordCountSession(String id, long maxMemory) {
+        this.id = id;
+        this.maxMemory = maxMemory;
+        this.lastAccess = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last append or query
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Append a chunk of text. The chunk is read outside the session lock, in fixed-size blocks.
+     *
+     * @param reader the chunk to append
+     * @throws IOException                   if the chunk can not be read
+     * @throws SessionLimitExceededException if the chunk would exceed the memory limit of the session, or an
+     *                                       earlier chunk did
+     */
+    public void append(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            synchronized (this) {
+                touch();
+                if (failed) {
+                    throw limitExceeded();
+                }
+                pendingMemory = tokenizer.pendingMemoryAfter(read);
+                try {
+                    if (memoryFootprint() + pendingMemory > maxMemory) {
+                        // The chunk may continue the trailing word until its buffer no longer fits
+                        throw limitExceeded();
+                    }
+                    tokenizer.feed(buffer, 0, read);
+                } catch (SessionLimitExceededException e) {
+                    failed = true;
+                    tokenizer.reset();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the highest frequency of any word so far
+     */
+    public synchronized int highestFrequency() {
+        touch();
+        int highestFrequency = ranking.maxCount();
+        WordCountTable pending = pendingWords();
+        for (int entry = 0; entry < pending.size(); entry++) {
+            highestFrequency = Math.max(highestFrequency, wordCounts.count(pending.word(entry)) + 1);
+        }
+        return highestFrequency;
+    }
+
+    /**
+     * @param word the word to count
+     * @return the frequency of the word so far
+     */
+    public synchronized int frequency(String word) {
+        touch();
+        return wordCounts.count(word) + pendingWords().count(word);
+    }
+
+    /**
+     * @param n the number of top frequent words to return
+     * @return the most frequent 'n' words so far, ordered by frequency and then alphabetically
+     */
+    public synchronized List<WordFrequency> mostFrequentNWords(int n) {
+        touch();
+        List<WordFrequency> mostFrequent = TopWords.select(wordCounts, ranking.order(), ranking.prefixContaining(n), n);
+        WordCountTable pending = pendingWords();
+        if (pending.size() == 0) {
+            return mostFrequent;
+        }
+        // Counting a pending word once more only moves it up, so the others keep their places among the best n
+        List<WordFrequency> merged = new ArrayList<>(mostFrequent);
+        for (int entry = 0; entry < pending.size(); entry++) {
+            String word = pending.word(entry);
+            merged.removeIf(frequency -> frequency.word().equals(word));
+            merged.add(new WordFrequencyImpl(word, wordCounts.count(word) + 1));
+        }
+        merged.sort(RANKING_ORDER);
+        return List.copyOf(merged.subList(0, Math.min(n, merged.size())));
+    }
+
+    /**
+     * @return an estimate of the heap memory used by the counts and the ranking, in bytes
+     */
+    public synchronized long memoryFootprint() {
+        return wordCounts.memoryFootprint() + FrequencyRanking.maxMemoryFootprint(ranking.size());
+    }
+
+    @Override
+    public void accept(byte[] word, int offset, int length) {
+        int entry = wordCounts.find(word, offset, length);
+        if (entry >= 0) {
+            wordCounts.increment(entry);
+        } else if (wordCounts.memoryFootprintAfterAdding(length) + FrequencyRanking.maxMemoryFootprint(ranking.size() + 1)
+                + pendingMemory > maxMemory) {
+            throw limitExceeded();
+        } else {
+            entry = wordCounts.add(word, offset, length, 1);
+        }
+        ranking.increment(entry);
+    }
+
+    /**
+     * @return the words a query counts as if the text ended now
+     */
+    private WordCountTable pendingWords() {
+        WordCountTable pending = new WordCountTable(0);
+        tokenizer.peek(pending);
+        return pending;
+    }
+
+    private SessionLimitExceededException limitExceeded() {
+        return new SessionLimitExceededException(
+                String.format("The session '%s' exceeds its limit of %d bytes", id, maxMemory));
+    }
+
+    private void touch() {
+        lastAccess = System.nanoTime();
+    }
+}
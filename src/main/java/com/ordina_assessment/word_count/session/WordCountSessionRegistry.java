@@ -0,0 +1,116 @@
+package com.ordina_assessment.word_count.session;
+
+import com.ordina_assessment.word_count.exception.SessionNotFoundException;
+import com.ordina_assessment.word_count.exception.TooManySessionsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the open {@link WordCountSession} instances and removes the ones that have not been used for longer
+ * than the configured time to live.
+ */
+@Slf4j
+@Component
+public class WordCountSessionRegistry implements MeterBinder {
+
+    private final Map<String, WordCountSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Duration timeToLive;
+    private final int maxSessions;
+    private final long maxSessionMemory;
+
+    /**
+     * @param timeToLive       the time after its last use at which a session is removed
+     * @param maxSessions      the maximum number of open sessions
+     * @param maxSessionMemory the maximum estimated memory of a single session, in bytes
+     */
+    public WordCountSessionRegistry(@Value("${wordcount.sessions.time-to-live:PT10M}") Duration timeToLive,
+                                    @Value("${wordcount.sessions.max-sessions:1000}") int maxSessions,
+                                    @Value("${wordcount.sessions.max-session-memory:67108864}") long maxSessionMemory) {
+        this.timeToLive = timeToLive;
+        this.maxSessions = maxSessions;
+        this.maxSessionMemory = maxSessionMemory;
+    }
+
+    /**
+     * Open a new, empty session.
+     *
+     * @return the new session
+     * @throws TooManySessionsException if the maximum number of sessions is open
+     */
+    public WordCountSession create() {
+        // Reserve a place first, so that concurrent requests can not open more than the maximum
+        if (openSessions.incrementAndGet() > maxSessions) {
+            openSessions.decrementAndGet();
+            throw new TooManySessionsException(maxSessions);
+        }
+        WordCountSession session = new WordCountSession(UUID.randomUUID().toString(), maxSessionMemory);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * @param id the identifier of the session
+     * @return the session
+     * @throws SessionNotFoundException if the session does not exist or has expired
+     */
+    public WordCountSession get(String id) {
+        WordCountSession session = sessions.get(id);
+        if (session == null) {
+            throw new SessionNotFoundException(id);
+        }
+        return session;
+    }
+
+    /**
+     * Close a session and release its counts.
+     *
+     * @param id the identifier of the session
+     * @throws SessionNotFoundException if the session does not exist or has expired
+     */
+    public void delete(String id) {
+        if (sessions.remove(id) == null) {
+            throw new SessionNotFoundException(id);
+        }
+        openSessions.decrementAndGet();
+    }
+
+    /**
+     * Register the number of open sessions.
+     *
+     * @param registry the registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("wordcount.sessions.open", sessions, Map::size)
+                .description("Open incremental counting sessions")
+                .register(registry);
+    }
+
+    /**
+     * Remove the sessions that have not been used within the time to live.
+     */
+    @Scheduled(fixedDelayString = "${wordcount.sessions.cleanup-interval:PT1M}")
+    public void removeExpiredSessions() {
+        long now = System.nanoTime();
+        long timeToLiveNanos = timeToLive.toNanos();
+        for (WordCountSession session : sessions.values()) {
+            // A session deleted concurrently is not removed, nor released, a second time
+            if (now - session.getLastAccess() > timeToLiveNanos && sessions.remove(session.getId(), session)) {
+                log.info("Removing expired session: {}", session.getId());
+                openSessions.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.ordina_assessment.word_count;
+
+import com.ordina_assessment.word_count.analyzer.ParallelWordCounter;
+import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalyzerImpl;
+import com.ordina_assessment.word_count.analyzer.approximate.ApproximateWordFrequencyAnalyzer;
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.model.AnalysisMode;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.distributed.ScatterGatherAnalyzer;
+import com.ordina_assessment.word_count.exception.GlobalExceptionHandler;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveWordFrequencyControllerTests {
+
+    private static final String BASE_TEXT = "The sun shines over the lake";
+
+    private static final NettyDataBufferFactory BUFFER_FACTORY =
+            new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    private WebTestClient webTestClient;
+
+    private final WordFrequencyAnalyzerImpl wordFrequencyAnalyzer = new WordFrequencyAnalyzerImpl(
+            new ParallelWordCounter(Integer.MAX_VALUE, 1), new HistogramCache(false, 0, 0),
+            new AnalyzerMetrics(new SimpleMeterRegistry()), new SampledDebugLog(0, 0));
+
+    @Mock
+    private ApproximateWordFrequencyAnalyzer approximateWordFrequencyAnalyzer;
+
+    @Mock
+    private ScatterGatherAnalyzer distributedWordFrequencyAnalyzer;
+
+    private ReactiveWordFrequencyController reactiveWordFrequencyController;
+
+    @BeforeEach
+    public void setup() {
+        reactiveWordFrequencyController = new ReactiveWordFrequencyController(wordFrequencyAnalyzer,
+                approximateWordFrequencyAnalyzer, distributedWordFrequencyAnalyzer, wordFrequencyAnalyzer);
+
+        LocalValidatorFactoryBean validator = createValidator();
+
+        // Validate the request parameters the way the method validation proxy of the application does
+        ProxyFactory proxyFactory = new ProxyFactory(reactiveWordFrequencyController);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new MethodValidationInterceptor(validator));
+
+        webTestClient = WebTestClient.bindToController(proxyFactory.getProxy())
+                .validator(validator)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private LocalValidatorFactoryBean createValidator() {
+        LocalValidatorFactoryBean localValidatorFactoryBean = new LocalValidatorFactoryBean();
+        localValidatorFactoryBean.afterPropertiesSet();
+        return localValidatorFactoryBean;
+    }
+
+    @Test
+    void getMostFrequentNWords_ValidInput_ShouldReturnCorrectList() {
+        webTestClient.get()
+                .uri("/wordcount/word-frequency?text={text}&n={n}", BASE_TEXT, 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].word").isEqualTo("the")
+                .jsonPath("$[0].frequency").isEqualTo(2);
+    }
+
+    @Test
+    void postAndGet_SameText_ShouldReturnSameResults() {
+        assertEquals(get("/wordcount/highest-frequency?text={text}", BASE_TEXT),
+                post("/wordcount/highest-frequency", BASE_TEXT));
+        assertEquals(get("/wordcount/frequency?text={text}&word=sun", BASE_TEXT),
+                post("/wordcount/frequency?word=sun", BASE_TEXT));
+        assertEquals(get("/wordcount/word-frequency?text={text}&n=3", BASE_TEXT),
+                post("/wordcount/word-frequency?n=3", BASE_TEXT));
+        assertEquals(get("/wordcount/analyze?text={text}&words=sun,moon&n=3", BASE_TEXT),
+                post("/wordcount/analyze?words=sun,moon&n=3", BASE_TEXT));
+        assertEquals(get("/wordcount/phrases/phrase-frequency?text={text}&n=3", BASE_TEXT),
+                post("/wordcount/phrases/phrase-frequency?n=3", BASE_TEXT));
+    }
+
+    private String get(String uri, Object... uriVariables) {
+        return webTestClient.get()
+                .uri(uri, uriVariables)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+    }
+
+    private String post(String uri, String body) {
+        return webTestClient.post()
+                .uri(uri)
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test
+    void whenTextIsWhitespace_ShouldReturnErrorResponse() {
+        webTestClient.get()
+                .uri("/wordcount/highest-frequency?text={text}", "    ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Constraint Violation");
+    }
+
+    @Test
+    void whenNIsZero_ShouldReturnErrorResponse() {
+        webTestClient.post()
+                .uri("/wordcount/word-frequency?n=0")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(BASE_TEXT)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Constraint Violation");
+    }
+
+    @Test
+    void whenNIsMissing_ShouldReturnErrorResponse() {
+        webTestClient.get()
+                .uri("/wordcount/word-frequency?text={text}", BASE_TEXT)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Missing Request Parameter")
+                .jsonPath("$.message").isEqualTo("n parameter is missing");
+    }
+
+    @Test
+    void whenModeIsUnknown_ShouldReturnErrorResponse() {
+        webTestClient.get()
+                .uri("/wordcount/highest-frequency?text={text}&mode=FAST", BASE_TEXT)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void getMostFrequentNPhrases_ValidInput_ShouldCountPhrasesExactly() {
+        webTestClient.get()
+                .uri("/wordcount/phrases/phrase-frequency?text={text}&n={n}", BASE_TEXT + ". The sun", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].word").isEqualTo("the sun")
+                .jsonPath("$[0].frequency").isEqualTo(2);
+
+        verifyNoInteractions(approximateWordFrequencyAnalyzer, distributedWordFrequencyAnalyzer);
+    }
+
+    @Test
+    void postHighestFrequency_WhitespaceBody_ShouldReturnErrorResponse() {
+        webTestClient.post()
+                .uri("/wordcount/highest-frequency")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(" \n\t ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Illegal Argument")
+                .jsonPath("$.message").isEqualTo("The request body must not be blank");
+    }
+
+    @Test
+    void postMostFrequentNWords_ManyBuffers_ShouldCountLikeTextAndReleaseEveryBuffer() {
+        String text = BASE_TEXT + ". Über die Brücke, über den Fluß und über den See";
+        List<NettyDataBuffer> buffers = split(text, 3);
+
+        ResponseEntity<List<WordFrequency>> response = reactiveWordFrequencyController
+                .getMostFrequentNWordsFromBody(Flux.fromIterable(buffers), 3, AnalysisMode.EXACT)
+                .block();
+
+        assertEquals(wordFrequencyAnalyzer.calculateMostFrequentNWords(text, 3), response.getBody());
+        assertReleased(buffers);
+    }
+
+    @Test
+    void postHighestFrequency_BodyFails_ShouldReleaseBuffersReadSoFar() {
+        List<NettyDataBuffer> buffers = split(BASE_TEXT, 5);
+        Flux<DataBuffer> body = Flux.concat(Flux.fromIterable(buffers), Flux.error(new IllegalStateException("Reset")));
+
+        assertThrows(IllegalStateException.class, () -> reactiveWordFrequencyController
+                .getHighestFrequencyFromBody(body, AnalysisMode.EXACT)
+                .block());
+        assertReleased(buffers);
+    }
+
+    @Test
+    void postHighestFrequency_BlankBody_ShouldReleaseBuffers() {
+        List<NettyDataBuffer> buffers = split(" \r\n ", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> reactiveWordFrequencyController
+                .getHighestFrequencyFromBody(Flux.fromIterable(buffers), AnalysisMode.EXACT)
+                .block());
+        assertReleased(buffers);
+    }
+
+    @Test
+    void getHighestFrequency_DistributedMode_ShouldNotRunOnTheCallingThread() {
+        List<String> threads = new ArrayList<>();
+        when(distributedWordFrequencyAnalyzer.mayBlock(BASE_TEXT)).thenReturn(true);
+        when(distributedWordFrequencyAnalyzer.calculateHighestFrequency(BASE_TEXT)).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return 2;
+        });
+
+        ResponseEntity<Integer> response = reactiveWordFrequencyController
+                .getHighestFrequency(BASE_TEXT, AnalysisMode.DISTRIBUTED)
+                .block();
+
+        assertEquals(2, response.getBody());
+        assertEquals(1, threads.size());
+        assertTrue(threads.get(0).startsWith("boundedElastic"), threads.get(0));
+    }
+
+    @Test
+    void getHighestFrequency_ExactMode_ShouldLeaveOnlyCachedTextsToOtherThreads() {
+        WordFrequencyAnalyzerImpl cachingAnalyzer = new WordFrequencyAnalyzerImpl(
+                new ParallelWordCounter(Integer.MAX_VALUE, 1), new HistogramCache(true, 1 << 20, 1024),
+                new AnalyzerMetrics(new SimpleMeterRegistry()), new SampledDebugLog(0, 0));
+        ReactiveWordFrequencyController controller = new ReactiveWordFrequencyController(cachingAnalyzer,
+                approximateWordFrequencyAnalyzer, distributedWordFrequencyAnalyzer, cachingAnalyzer);
+
+        String cachedThread = controller.getHighestFrequency(BASE_TEXT.repeat(100), AnalysisMode.EXACT)
+                .map(response -> Thread.currentThread().getName())
+                .block();
+        String uncachedThread = controller.getHighestFrequency(BASE_TEXT, AnalysisMode.EXACT)
+                .map(response -> Thread.currentThread().getName())
+                .block();
+
+        assertTrue(cachedThread.startsWith("boundedElastic"), cachedThread);
+        assertEquals(Thread.currentThread().getName(), uncachedThread);
+    }
+
+    @Test
+    void postHighestFrequency_DistributedMode_ShouldFeedOffTheCallingThread() {
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        IncrementalAnalysis analysis = mock(IncrementalAnalysis.class);
+        doAnswer(invocation -> threads.add(Thread.currentThread().getName())).when(analysis).feed(any(ByteBuffer.class));
+        when(analysis.highestFrequency()).thenReturn(2);
+        when(distributedWordFrequencyAnalyzer.startAnalysis()).thenReturn(analysis);
+        List<NettyDataBuffer> buffers = split(BASE_TEXT, 4);
+
+        ResponseEntity<Integer> response = reactiveWordFrequencyController
+                .getHighestFrequencyFromBody(Flux.fromIterable(buffers), AnalysisMode.DISTRIBUTED)
+                .block();
+
+        assertEquals(2, response.getBody());
+        assertEquals(buffers.size(), threads.size());
+        assertTrue(threads.stream().allMatch(thread -> thread.startsWith("boundedElastic")), threads::toString);
+        assertReleased(buffers);
+    }
+
+    // Split the UTF-8 bytes of a text into buffers of the given size, cutting through multibyte characters
+    private static List<NettyDataBuffer> split(String text, int size) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<NettyDataBuffer> buffers = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += size) {
+            buffers.add(BUFFER_FACTORY.wrap(Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + size))));
+        }
+        return buffers;
+    }
+
+    private static void assertReleased(List<NettyDataBuffer> buffers) {
+        assertTrue(buffers.stream().noneMatch(NettyDataBuffer::isAllocated), "Every buffer should be released");
+    }
+}
@@ -1,13 +1,17 @@
 package com.ordina_assessment.word_count;
 
+import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalysisImpl;
 import com.ordina_assessment.word_count.analyzer.WordFrequencyAnalyzerImpl;
+import com.ordina_assessment.word_count.analyzer.approximate.ApproximateWordFrequencyAnalyzer;
 import com.ordina_assessment.word_count.analyzer.WordFrequencyImpl;
 import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordSource;
+import com.ordina_assessment.word_count.distributed.ScatterGatherAnalyzer;
 import com.ordina_assessment.word_count.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
@@ -16,14 +20,20 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +46,19 @@ class WordFrequencyApplicationTests {
     @Mock
     private WordFrequencyAnalyzerImpl wordFrequencyAnalyzer;
 
-    @InjectMocks
+    @Mock
+    private ApproximateWordFrequencyAnalyzer approximateWordFrequencyAnalyzer;
+
+    @Mock
+    private ScatterGatherAnalyzer distributedWordFrequencyAnalyzer;
+
     private WordFrequencyController wordFrequencyController;
 
     @BeforeEach
     public void setup() {
+        wordFrequencyController = new WordFrequencyController(wordFrequencyAnalyzer, approximateWordFrequencyAnalyzer,
+                distributedWordFrequencyAnalyzer, wordFrequencyAnalyzer);
+
         // Set up the Validator
         Validator validator = createValidator();
 
@@ -171,4 +189,129 @@ class WordFrequencyApplicationTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void postHighestFrequency_TextBody_ShouldReturnCorrectFrequency() throws Exception {
+        when(wordFrequencyAnalyzer.calculateHighestFrequency(any(WordSource.class))).thenReturn(2);
+
+        mockMvc.perform(post("/wordcount/highest-frequency")
+                        .content(BASE_TEXT)
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
+    @Test
+    void postMostFrequentNWords_TextBody_ShouldReturnCorrectList() throws Exception {
+        int n = 1;
+        when(wordFrequencyAnalyzer.calculateMostFrequentNWords(any(WordSource.class), eq(n)))
+                .thenReturn(List.of(new WordFrequencyImpl("the", 2)));
+
+        mockMvc.perform(post("/wordcount/word-frequency")
+                        .param("n", String.valueOf(n))
+                        .content(BASE_TEXT)
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].word", is("the")))
+                .andExpect(jsonPath("$[0].frequency", is(2)));
+    }
+
+    @Test
+    void postHighestFrequency_EmptyBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/wordcount/highest-frequency")
+                        .content("")
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("The request body must not be blank")));
+    }
+
+    @Test
+    void postMostFrequentNWords_WhitespaceBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/wordcount/word-frequency")
+                        .param("n", "1")
+                        .content(" \n\t ")
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void postFrequencyForWord_WithoutWord_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/wordcount/frequency")
+                        .content(BASE_TEXT)
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getHighestFrequency_ApproximateMode_ShouldUseApproximateAnalyzer() throws Exception {
+        when(approximateWordFrequencyAnalyzer.calculateHighestFrequency(eq(BASE_TEXT))).thenReturn(3);
+
+        mockMvc.perform(get("/wordcount/highest-frequency")
+                        .param("text", BASE_TEXT)
+                        .param("mode", "APPROXIMATE")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    void getHighestFrequency_UnknownMode_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/wordcount/highest-frequency")
+                        .param("text", BASE_TEXT)
+                        .param("mode", "GUESS")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void postMostFrequentNPhrases_TextBody_ShouldUsePhraseAnalyzer() throws Exception {
+        when(wordFrequencyAnalyzer.calculateMostFrequentNPhrases(any(WordSource.class), eq(2), eq(1)))
+                .thenReturn(List.of(new WordFrequencyImpl("the sun", 1)));
+
+        mockMvc.perform(post("/wordcount/phrases/phrase-frequency")
+                        .param("n", "1")
+                        .content(BASE_TEXT)
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].word", is("the sun")));
+
+        verifyNoInteractions(approximateWordFrequencyAnalyzer, distributedWordFrequencyAnalyzer);
+    }
+
+    @Test
+    void analyze_ValidInput_ShouldReturnAllMetrics() throws Exception {
+        List<String> words = List.of("the", "moon");
+        when(wordFrequencyAnalyzer.analyze(eq(BASE_TEXT), eq(words), eq(1)))
+                .thenReturn(new WordFrequencyAnalysisImpl(2, Map.of("the", 2, "moon", 0), List.of(new WordFrequencyImpl("the", 2))));
+
+        mockMvc.perform(get("/wordcount/analyze")
+                        .param("text", BASE_TEXT)
+                        .param("words", "the", "moon")
+                        .param("n", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.highestFrequency", is(2)))
+                .andExpect(jsonPath("$.frequencies.the", is(2)))
+                .andExpect(jsonPath("$.frequencies.moon", is(0)))
+                .andExpect(jsonPath("$.mostFrequentWords", hasSize(1)))
+                .andExpect(jsonPath("$.mostFrequentWords[0].word", is("the")));
+    }
+
+    @Test
+    void filePathOutsideRoot_ShouldReturnNotFoundWhetherOrNotItExists(@TempDir Path directory) throws Exception {
+        Path root = Files.createDirectory(directory.resolve("root"));
+        Path existing = Files.writeString(directory.resolve("existing.txt"), BASE_TEXT);
+        MockMvc fileMockMvc = MockMvcBuilders.standaloneSetup(new FileWordFrequencyController(wordFrequencyAnalyzer, root.toString()))
+                .setValidator(createValidator())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        for (String path : List.of("../existing.txt", "../missing.txt", existing.toString())) {
+            fileMockMvc.perform(get("/wordcount/files/highest-frequency")
+                            .param("path", path))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
 }
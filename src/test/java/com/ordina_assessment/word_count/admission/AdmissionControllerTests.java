@@ -0,0 +1,145 @@
+package com.ordina_assessment.word_count.admission;
+
+import com.ordina_assessment.word_count.compression.RequestDecompressionFilter;
+import com.ordina_assessment.word_count.exception.AdmissionRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionControllerTests {
+
+    @Test
+    void acquire_WithinBudget_ShouldAdmitConcurrently() throws Exception {
+        AdmissionController controller = new AdmissionController(100, Duration.ZERO);
+
+        long first = controller.acquire(60);
+        long second = controller.acquire(40);
+
+        assertEquals(100, controller.reservedBytes());
+        controller.release(first);
+        controller.release(second);
+        assertEquals(0, controller.reservedBytes());
+    }
+
+    @Test
+    void acquire_OverBudget_ShouldRejectAfterWaiting() throws Exception {
+        AdmissionController controller = new AdmissionController(100, Duration.ofMillis(20));
+        controller.acquire(80);
+
+        assertThrows(AdmissionRejectedException.class, () -> controller.acquire(30));
+        assertEquals(20, controller.acquire(20));
+    }
+
+    @Test
+    void acquire_LargerThanBudget_ShouldReserveWholeBudget() throws Exception {
+        AdmissionController controller = new AdmissionController(100, Duration.ZERO);
+
+        assertEquals(100, controller.acquire(1_000_000));
+        assertThrows(AdmissionRejectedException.class, () -> controller.acquire(1));
+    }
+
+    @Test
+    void acquire_WaitingRequest_ShouldBeAdmittedOnRelease() throws Exception {
+        AdmissionController controller = new AdmissionController(100, Duration.ofSeconds(10));
+        long reserved = controller.acquire(100);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> waiting = executor.submit(() -> controller.acquire(50));
+            Thread.sleep(50);
+            controller.release(reserved);
+
+            assertEquals(50, (long) waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(50, controller.reservedBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static HttpServletRequest chunkedRequest(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/wordcount/highest-frequency");
+        request.addHeader("Transfer-Encoding", "chunked");
+        request.setContent(body);
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+
+    private static HttpServletRequest admit(AdmissionInterceptor interceptor, HttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        new MeteredBodyFilter().doFilter(request, new MockHttpServletResponse(), chain);
+        HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+        interceptor.preHandle(filtered, new MockHttpServletResponse(), new Object());
+        return filtered;
+    }
+
+    @Test
+    void chunkedBody_ShouldBeChargedWhileRead() throws Exception {
+        AdmissionController controller = new AdmissionController(1_000, Duration.ZERO);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(controller, 100);
+        HttpServletRequest request = admit(interceptor, chunkedRequest(new byte[450]));
+        assertEquals(100, controller.reservedBytes());
+
+        assertEquals(450, request.getInputStream().readAllBytes().length);
+        assertEquals(500, controller.reservedBytes());
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+        assertEquals(0, controller.reservedBytes());
+    }
+
+    @Test
+    void compressedBody_ShouldBeChargedItsDecodedSize() throws Exception {
+        AdmissionController controller = new AdmissionController(10_000, Duration.ZERO);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(controller, 1_000);
+        MockHttpServletRequest compressed = new MockHttpServletRequest("POST", "/wordcount/highest-frequency");
+        compressed.addHeader("Content-Encoding", "gzip");
+        compressed.setContent(gzip(new byte[4_500]));
+        MockFilterChain chain = new MockFilterChain();
+        new RequestDecompressionFilter(1 << 30, 10_000).doFilter(compressed, new MockHttpServletResponse(), chain);
+        HttpServletRequest request = admit(interceptor, (HttpServletRequest) chain.getRequest());
+        assertEquals(1_000, controller.reservedBytes());
+
+        assertEquals(4_500, request.getInputStream().readAllBytes().length);
+        assertEquals(5_000, controller.reservedBytes());
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+        assertEquals(0, controller.reservedBytes());
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Test
+    void chunkedBody_OverBudget_ShouldBeRejectedWhileRead() throws Exception {
+        AdmissionController controller = new AdmissionController(300, Duration.ofMillis(20));
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(controller, 100);
+        controller.acquire(150);
+        HttpServletRequest request = admit(interceptor, chunkedRequest(new byte[450]));
+
+        assertThrows(AdmissionRejectedException.class, () -> request.getInputStream().readAllBytes());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+        assertEquals(150, controller.reservedBytes());
+    }
+}
@@ -0,0 +1,421 @@
+package com.ordina_assessment.word_count.analyzer;
+
+import com.ordina_assessment.word_count.analyzer.cache.HistogramCache;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequencyAnalysis;
+import com.ordina_assessment.word_count.analyzer.model.WordSink;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class WordFrequencyAnalyzerImplTests {
+
+    private static final AnalyzerMetrics METRICS = new AnalyzerMetrics(new SimpleMeterRegistry());
+    private static final SampledDebugLog DEBUG_LOG = new SampledDebugLog(0, 0);
+    private static final String ALPHABET = "aAbBcCkK_09 \t\n.,!-\u00e9\u212a\u0131";
+
+    private final WordFrequencyAnalyzerImpl analyzer = new WordFrequencyAnalyzerImpl(
+            new ParallelWordCounter(Integer.MAX_VALUE, 1), new HistogramCache(false, 0, 0), METRICS, DEBUG_LOG);
+
+    // Reference implementations: the original regex-based behavior the analyzer must keep
+    private static Map<String, Integer> referenceCounts(String text) {
+        return Arrays.stream(text.split("\\W+"))
+                .map(String::toLowerCase)
+                .collect(Collectors.groupingBy(w -> w, Collectors.summingInt(w -> 1)));
+    }
+
+    private static int referenceHighestFrequency(String text) {
+        return referenceCounts(text).values().stream().max(Integer::compare).orElse(0);
+    }
+
+    private static int referenceFrequencyForWord(String text, String word) {
+        return (int) Arrays.stream(text.split("\\W+")).filter(w -> w.equalsIgnoreCase(word)).count();
+    }
+
+    private static List<WordFrequency> referenceMostFrequentNWords(String text, int n) {
+        return referenceCounts(text).entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(n)
+                .map(e -> new WordFrequencyImpl(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    @Test
+    void tokenizer_ShouldMatchRegexSplit() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            String text = randomText(random, random.nextInt(40));
+            List<String> tokens = new ArrayList<>();
+            WordTokenizer.tokenize(text, (word, offset, length) ->
+                    tokens.add(new String(word, offset, length, StandardCharsets.ISO_8859_1)));
+
+            List<String> expected = Arrays.stream(text.split("\\W+")).map(String::toLowerCase).toList();
+            assertEquals(expected, tokens, () -> "text: '" + text + "'");
+        }
+    }
+
+    @Test
+    void vectorizedTokenizer_ShouldMatchScalarTokenizer() {
+        WordMasks masks = WordMasks.vectorized();
+        assumeTrue(masks != null, "The Vector API is not available");
+        Random random = new Random(53);
+        for (int i = 0; i < 1_000; i++) {
+            // Long runs of word and non-word characters cross the vector blocks, short ones end inside them
+            String text = random.nextBoolean()
+                    ? randomText(random, random.nextInt(2_000))
+                    : randomRuns(random, random.nextInt(2_000));
+            byte[] bytes = new byte[random.nextInt(2_000)];
+            random.nextBytes(bytes);
+            int chunk = 1 + random.nextInt(300);
+
+            assertEquals(tokens(null, text, chunk), tokens(masks, text, chunk), () -> "text: '" + text + "'");
+            char[] chars = text.toCharArray();
+            assertEquals(tokens(null, chars, chunk), tokens(masks, chars, chunk), () -> "text: '" + text + "'");
+            assertEquals(tokens(null, bytes, chunk), tokens(masks, bytes, chunk), () -> Arrays.toString(bytes));
+        }
+    }
+
+    private static String randomRuns(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            text.append(String.valueOf(c).repeat(Math.min(length - text.length(), random.nextInt(150))));
+        }
+        return text.toString();
+    }
+
+    private static List<String> tokens(WordMasks masks, String text, int chunk) {
+        List<String> tokens = new ArrayList<>();
+        WordTokenizer tokenizer = new WordTokenizer(collector(tokens), true, masks);
+        for (int offset = 0; offset < text.length(); offset += chunk) {
+            tokenizer.feed(text, offset, Math.min(text.length(), offset + chunk));
+        }
+        tokenizer.finish();
+        return tokens;
+    }
+
+    private static List<String> tokens(WordMasks masks, char[] text, int chunk) {
+        List<String> tokens = new ArrayList<>();
+        WordTokenizer tokenizer = new WordTokenizer(collector(tokens), true, masks);
+        for (int offset = 0; offset < text.length; offset += chunk) {
+            tokenizer.feed(text, offset, Math.min(text.length - offset, chunk));
+        }
+        tokenizer.finish();
+        return tokens;
+    }
+
+    private static List<String> tokens(WordMasks masks, byte[] utf8, int chunk) {
+        List<String> tokens = new ArrayList<>();
+        WordTokenizer tokenizer = new WordTokenizer(collector(tokens), true, masks);
+        for (int offset = 0; offset < utf8.length; offset += chunk) {
+            tokenizer.feed(utf8, offset, Math.min(utf8.length - offset, chunk));
+        }
+        tokenizer.finish();
+        return tokens;
+    }
+
+    private static WordSink collector(List<String> tokens) {
+        return (word, offset, length) -> tokens.add(new String(word, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void calculateHighestFrequency_ShouldMatchReference() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            String text = randomText(random, random.nextInt(200));
+            assertEquals(referenceHighestFrequency(text), analyzer.calculateHighestFrequency(text),
+                    () -> "text: '" + text + "'");
+        }
+    }
+
+    @Test
+    void calculateFrequencyForWord_ShouldMatchReference() {
+        Random random = new Random(11);
+        String[] words = {"a", "A", "ab", "k", "\u212a", "\u0131", "\u0130", "_0", "a b", "", "\u00e9"};
+        for (int i = 0; i < 1_000; i++) {
+            String text = randomText(random, random.nextInt(200));
+            for (String word : words) {
+                assertEquals(referenceFrequencyForWord(text, word), analyzer.calculateFrequencyForWord(text, word),
+                        () -> "text: '" + text + "', word: '" + word + "'");
+            }
+        }
+    }
+
+    @Test
+    void calculateMostFrequentNWords_ShouldMatchReference() {
+        Random random = new Random(13);
+        for (int i = 0; i < 1_000; i++) {
+            String text = randomText(random, random.nextInt(200));
+            int n = 1 + random.nextInt(10);
+            assertEquals(referenceMostFrequentNWords(text, n), analyzer.calculateMostFrequentNWords(text, n),
+                    () -> "text: '" + text + "'");
+        }
+    }
+
+    @Test
+    void calculateMostFrequentNWords_LargeVocabulary_ShouldMatchReferenceForSmallAndLargeN() {
+        Random random = new Random(17);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            // A skewed vocabulary produces many ties on every count, which exercises the alphabetical tie-break
+            int word = (int) Math.abs(random.nextGaussian() * 500);
+            builder.append(random.nextBoolean() ? "Word" : "word").append(word).append(i % 5 == 0 ? ". " : " ");
+        }
+        String text = builder.toString();
+        int distinct = referenceCounts(text).size();
+
+        for (int n : new int[]{1, 10, 100, distinct / 2 - 1, distinct / 2, distinct - 1, distinct, distinct + 1}) {
+            assertEquals(referenceMostFrequentNWords(text, n), analyzer.calculateMostFrequentNWords(text, n),
+                    "n = " + n);
+        }
+    }
+
+    @Test
+    void calculateMostFrequentNWords_WhenNIsZero_ShouldReturnEmptyList() {
+        assertEquals(List.of(), analyzer.calculateMostFrequentNWords("The sun shines over the lake", 0));
+    }
+
+    @Test
+    void calculateMostFrequentNWords_WhenNExceedsVocabulary_ShouldReturnEveryWord() {
+        assertEquals(List.of(new WordFrequencyImpl("the", 2), new WordFrequencyImpl("lake", 1)),
+                analyzer.calculateMostFrequentNWords("The lake the", 2_000_000_000));
+        assertEquals(List.of(new WordFrequencyImpl("lake", 1)),
+                analyzer.calculateMostFrequentNWords("lake", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void streamedText_ShouldMatchStringAnalysisAcrossChunkBoundaries() throws Exception {
+        Random random = new Random(19);
+        for (int i = 0; i < 20; i++) {
+            String text = randomText(random, 20_000 + random.nextInt(20_000));
+
+            assertEquals(analyzer.calculateHighestFrequency(text),
+                    analyzer.calculateHighestFrequency(WordSources.of(new StringReader(text))));
+            assertEquals(analyzer.calculateFrequencyForWord(text, "ab"),
+                    analyzer.calculateFrequencyForWord(WordSources.of(new StringReader(text)), "ab"));
+            assertEquals(analyzer.calculateMostFrequentNWords(text, 10),
+                    analyzer.calculateMostFrequentNWords(WordSources.of(new StringReader(text)), 10));
+        }
+    }
+
+    @Test
+    void utf8Bytes_ShouldMatchStringAnalysis() throws Exception {
+        Random random = new Random(23);
+        List<String> words = List.of("a", "AB", "\u212a");
+        for (int i = 0; i < 20; i++) {
+            String text = randomText(random, 20_000 + random.nextInt(20_000));
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+            assertEquals(analyzer.analyze(text, words, 10), analyzer.analyze(WordSources.of(bytes), words, 10));
+            assertEquals(analyzer.analyze(text, words, 10),
+                    analyzer.analyze(WordSources.of(new ByteArrayInputStream(bytes)), words, 10));
+        }
+    }
+
+    @Test
+    void incrementalAnalysis_ShouldMatchStringAnalysisAcrossBufferBoundaries() {
+        Random random = new Random(37);
+        List<String> words = List.of("a", "AB", "\u212a");
+        for (int i = 0; i < 50; i++) {
+            String text = randomText(random, random.nextInt(5_000));
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            IncrementalAnalysis incremental = analyzer.startAnalysis();
+            for (int offset = 0; offset < bytes.length; ) {
+                int length = Math.min(bytes.length - offset, 1 + random.nextInt(64));
+                incremental.feed(ByteBuffer.wrap(bytes, offset, length));
+                offset += length;
+            }
+            incremental.finish();
+
+            assertEquals(analyzer.analyze(text, words, 5), incremental.analysis(words, 5));
+            assertEquals(analyzer.calculateFrequencyForWord(text, "ab"), incremental.frequency("ab"));
+        }
+    }
+
+    @Test
+    void parallelCounting_ShouldMatchSequentialCounting() {
+        WordFrequencyAnalyzerImpl parallelAnalyzer = new WordFrequencyAnalyzerImpl(
+                new ParallelWordCounter(1, 4), new HistogramCache(false, 0, 0), METRICS, DEBUG_LOG);
+        Random random = new Random(23);
+        for (int i = 0; i < 50; i++) {
+            String text = randomText(random, random.nextInt(50_000));
+
+            assertEquals(analyzer.calculateHighestFrequency(text), parallelAnalyzer.calculateHighestFrequency(text));
+            assertEquals(analyzer.calculateFrequencyForWord(text, "ab"), parallelAnalyzer.calculateFrequencyForWord(text, "ab"));
+            assertEquals(analyzer.calculateFrequencyForWord(text, ""), parallelAnalyzer.calculateFrequencyForWord(text, ""));
+            assertEquals(analyzer.calculateMostFrequentNWords(text, 10), parallelAnalyzer.calculateMostFrequentNWords(text, 10));
+        }
+        // Leading delimiters followed by words only in a later segment still yield the leading empty word
+        String text = " ".repeat(10_000) + "word";
+        assertEquals(referenceMostFrequentNWords(text, 5), parallelAnalyzer.calculateMostFrequentNWords(text, 5));
+    }
+
+    @Test
+    void mayBlock_ShouldHoldForCachedAndParallelTextsOnly() {
+        WordFrequencyAnalyzerImpl parallelAnalyzer = new WordFrequencyAnalyzerImpl(
+                new ParallelWordCounter(1_000, 4), new HistogramCache(false, 0, 0), METRICS, DEBUG_LOG);
+        WordFrequencyAnalyzerImpl cachingAnalyzer = new WordFrequencyAnalyzerImpl(
+                new ParallelWordCounter(Integer.MAX_VALUE, 1), new HistogramCache(true, 1 << 20, 1_000), METRICS, DEBUG_LOG);
+        String shortText = "a".repeat(999);
+        String longText = "a".repeat(1_000);
+
+        assertFalse(analyzer.mayBlock(longText));
+        assertFalse(parallelAnalyzer.mayBlock(shortText));
+        assertTrue(parallelAnalyzer.mayBlock(longText));
+        assertFalse(cachingAnalyzer.mayBlock(shortText));
+        assertTrue(cachingAnalyzer.mayBlock(longText));
+    }
+
+    @Test
+    void mappedFiles_ShouldMatchStringAnalysis(@TempDir Path directory) throws Exception {
+        Random random = new Random(29);
+        String first = "a" + randomText(random, 30_000);
+        String second = " " + randomText(random, 30_000);
+        Path firstFile = Files.writeString(directory.resolve("first.txt"), first);
+        Files.writeString(Files.createDirectory(directory.resolve("nested")).resolve("second.txt"), second);
+
+        assertEquals(analyzer.calculateMostFrequentNWords(first, 10), analyzer.calculateMostFrequentNWords(firstFile, 10));
+        assertEquals(analyzer.calculateFrequencyForWord(first, "ab"), analyzer.calculateFrequencyForWord(firstFile, "ab"));
+
+        // A directory is analyzed as the sum of its files, each file being a separate document
+        int expected = analyzer.calculateFrequencyForWord(first, "a") + analyzer.calculateFrequencyForWord(second, "a");
+        assertEquals(expected, analyzer.calculateFrequencyForWord(directory, "a"));
+        assertEquals(1, analyzer.calculateFrequencyForWord(directory, ""));
+    }
+
+    @Test
+    void directoryTree_ShouldSkipSymbolicLinks(@TempDir Path directory) throws Exception {
+        Path tree = Files.createDirectory(directory.resolve("tree"));
+        Path outside = Files.createDirectory(directory.resolve("outside"));
+        Files.writeString(tree.resolve("inside.txt"), "secret kept inside");
+        Path secret = Files.writeString(outside.resolve("secret.txt"), "secret secret secret");
+        try {
+            Files.createSymbolicLink(tree.resolve("file-link.txt"), secret);
+            Files.createSymbolicLink(tree.resolve("directory-link"), outside);
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "Symbolic links are not supported: " + e);
+        }
+
+        assertEquals(1, analyzer.calculateFrequencyForWord(tree, "secret"));
+        assertEquals("secret kept inside".length(), WordSources.sizeOfTree(tree));
+    }
+
+    @Test
+    void analyze_ShouldMatchIndividualCalculations() {
+        Random random = new Random(31);
+        List<String> words = List.of("a", "AB", "\u212a", "a b");
+        for (int i = 0; i < 200; i++) {
+            String text = randomText(random, random.nextInt(500));
+            WordFrequencyAnalysis analysis = analyzer.analyze(text, words, 5);
+
+            assertEquals(referenceHighestFrequency(text), analysis.highestFrequency());
+            for (String word : words) {
+                assertEquals(referenceFrequencyForWord(text, word), (int) analysis.frequencies().get(word));
+            }
+            assertEquals(referenceMostFrequentNWords(text, 5), analysis.mostFrequentWords());
+        }
+    }
+
+    @Test
+    void cachedHistograms_ShouldMatchUncachedAnalysis() {
+        WordFrequencyAnalyzerImpl cachingAnalyzer = new WordFrequencyAnalyzerImpl(
+                new ParallelWordCounter(Integer.MAX_VALUE, 1), new HistogramCache(true, 1 << 20, 0), METRICS, DEBUG_LOG);
+        Random random = new Random(37);
+        for (int i = 0; i < 100; i++) {
+            String text = randomText(random, random.nextInt(300));
+            for (int repeat = 0; repeat < 2; repeat++) {
+                assertEquals(referenceHighestFrequency(text), cachingAnalyzer.calculateHighestFrequency(text));
+                assertEquals(referenceFrequencyForWord(text, "\u212a"), cachingAnalyzer.calculateFrequencyForWord(text, "\u212a"));
+                assertEquals(referenceMostFrequentNWords(text, 3), cachingAnalyzer.calculateMostFrequentNWords(text, 3));
+            }
+        }
+    }
+
+    private static Map<String, Integer> referencePhraseCounts(String text, int size) {
+        List<String> words = Arrays.stream(text.split("\\W+")).filter(w -> !w.isEmpty()).map(String::toLowerCase).toList();
+        List<String> phrases = new ArrayList<>();
+        for (int i = 0; i + size <= words.size(); i++) {
+            phrases.add(String.join(" ", words.subList(i, i + size)));
+        }
+        return phrases.stream().collect(Collectors.groupingBy(p -> p, Collectors.summingInt(p -> 1)));
+    }
+
+    private static String randomPhrases(Random random, int words) {
+        // A small vocabulary with words that prefix each other, so that phrases repeat and tie on their counts
+        String[] vocabulary = {"a", "ab", "Ab", "abc", "b", "_", "0", "new", "York", "new_york"};
+        String[] delimiters = {" ", ", ", "\n", " - ", "\u00e9"};
+        StringBuilder text = new StringBuilder(random.nextBoolean() ? ". " : "");
+        for (int i = 0; i < words; i++) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)]).append(delimiters[random.nextInt(delimiters.length)]);
+        }
+        return text.toString();
+    }
+
+    @Test
+    void phrases_ShouldMatchReference() throws Exception {
+        Random random = new Random(89);
+        for (int i = 0; i < 200; i++) {
+            String text = randomPhrases(random, random.nextInt(400));
+            int size = 1 + random.nextInt(3);
+            Map<String, Integer> expected = referencePhraseCounts(text, size);
+            List<WordFrequency> expectedTop = expected.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(5)
+                    .map(e -> new WordFrequencyImpl(e.getKey(), e.getValue()))
+                    .collect(Collectors.toList());
+            int expectedHighest = expected.values().stream().max(Integer::compare).orElse(0);
+            String phrase = String.join(" ", Arrays.asList("new", "York", "a").subList(0, size));
+            int expectedFrequency = expected.getOrDefault(phrase.toLowerCase(), 0);
+
+            assertEquals(expectedHighest, analyzer.calculateHighestPhraseFrequency(text, size), text);
+            assertEquals(expectedFrequency, analyzer.calculateFrequencyForPhrase(text, phrase, size), text);
+            assertEquals(expectedTop, analyzer.calculateMostFrequentNPhrases(text, size, 5), text);
+
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expectedFrequency, analyzer.calculateFrequencyForPhrase(WordSources.of(utf8), phrase, size));
+            assertEquals(expectedTop, analyzer.calculateMostFrequentNPhrases(WordSources.of(utf8), size, 5));
+
+            IncrementalAnalysis analysis = analyzer.startPhraseAnalysis(size);
+            for (int offset = 0; offset < utf8.length; offset += 7) {
+                analysis.feed(ByteBuffer.wrap(utf8, offset, Math.min(7, utf8.length - offset)));
+            }
+            analysis.finish();
+            assertEquals(expectedHighest, analysis.highestFrequency());
+            assertEquals(expectedFrequency, analysis.frequency(phrase));
+            assertEquals(expectedTop, analysis.mostFrequentWords(5));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ordina_assessment.word_count.analyzer.approximate;
+
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApproximateWordFrequencyAnalyzerTests {
+
+    private static final AnalyzerMetrics METRICS = new AnalyzerMetrics(new SimpleMeterRegistry());
+    private static final SampledDebugLog DEBUG_LOG = new SampledDebugLog(0, 0);
+    private static final String BASE_TEXT = "The sun shines over the lake, and the lake shines back at THE sun.";
+
+    /**
+     * A text of the given number of words drawn from a Zipf-like distribution over the given vocabulary.
+     */
+    private static String skewedText(int words, int vocabulary, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.floor(Math.pow(vocabulary + 1, random.nextDouble())) - 1;
+            text.append("w").append(Integer.toString(rank, 36)).append(random.nextInt(8) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    private static WordCountTable count(String text) {
+        WordCountTable table = new WordCountTable();
+        WordTokenizer.tokenize(text, table);
+        return table;
+    }
+
+    @Test
+    void smallVocabulary_ShouldMatchExactCounts() {
+        ApproximateWordFrequencyAnalyzer analyzer = new ApproximateWordFrequencyAnalyzer(1024, 4, 64, METRICS, DEBUG_LOG);
+        WordCountTable exact = count(BASE_TEXT);
+
+        assertEquals(exact.maxCount(), analyzer.calculateHighestFrequency(BASE_TEXT));
+        assertEquals(exact.count("the"), analyzer.calculateFrequencyForWord(BASE_TEXT, "ThE"));
+        assertEquals(0, analyzer.calculateFrequencyForWord(BASE_TEXT, "moon"));
+        assertEquals(TopWords.select(exact, 5), analyzer.calculateMostFrequentNWords(BASE_TEXT, 5));
+        assertEquals(TopWords.select(exact, 100), analyzer.calculateMostFrequentNWords(BASE_TEXT, 100));
+    }
+
+    @Test
+    void countMinSketch_ShouldNeverUnderestimateAndStayWithinBound() {
+        String text = skewedText(200_000, 50_000, 42);
+        WordCountTable exact = count(text);
+        CountMinSketch sketch = new CountMinSketch(4096, 4);
+        WordTokenizer.tokenize(text, sketch);
+
+        long bound = (long) Math.ceil(Math.E / 4096 * exact.totalCount());
+        int withinBound = 0;
+        for (int entry = 0; entry < exact.size(); entry++) {
+            int estimate = sketch.estimate(exact.word(entry));
+            assertTrue(estimate >= exact.count(entry), exact.word(entry));
+            if (estimate - exact.count(entry) <= bound) {
+                withinBound++;
+            }
+        }
+        // The bound holds with probability 1 - e^-4, about 98%
+        assertTrue(withinBound >= 0.95 * exact.size(), withinBound + " of " + exact.size());
+        assertTrue(sketch.maxEstimate() >= exact.maxCount());
+        assertTrue(sketch.maxEstimate() <= exact.maxCount() + bound);
+    }
+
+    @Test
+    void spaceSaving_ShouldReportHeavyHittersWithinBound() {
+        String text = skewedText(200_000, 50_000, 7);
+        WordCountTable exact = count(text);
+        int capacity = 256;
+        SpaceSaving summary = new SpaceSaving(capacity);
+        WordTokenizer.tokenize(text, summary);
+
+        List<WordFrequency> reported = summary.mostFrequentNWords(capacity);
+        assertEquals(capacity, reported.size());
+        long bound = exact.totalCount() / capacity;
+        Set<String> words = new HashSet<>();
+        for (WordFrequency frequency : reported) {
+            assertTrue(words.add(frequency.word()), "Duplicate word " + frequency.word());
+            int exactCount = exact.count(frequency.word());
+            assertTrue(frequency.frequency() >= exactCount, frequency.word());
+            assertTrue(frequency.frequency() - exactCount <= bound, frequency.word());
+        }
+        for (int entry = 0; entry < exact.size(); entry++) {
+            if (exact.count(entry) > bound) {
+                assertTrue(words.contains(exact.word(entry)), exact.word(entry));
+            }
+        }
+    }
+
+    @Test
+    void mostFrequentNWords_SkewedText_ShouldMatchExactTopWords() {
+        String text = skewedText(200_000, 50_000, 11);
+        ApproximateWordFrequencyAnalyzer analyzer = new ApproximateWordFrequencyAnalyzer(16384, 4, 1024, METRICS, DEBUG_LOG);
+
+        List<WordFrequency> exact = TopWords.select(count(text), 10);
+        List<WordFrequency> approximate = analyzer.calculateMostFrequentNWords(text, 10);
+
+        assertEquals(exact.stream().map(WordFrequency::word).toList(),
+                approximate.stream().map(WordFrequency::word).toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.ordina_assessment.word_count.analyzer.cache;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HistogramCacheTests {
+
+    private static WordCountTable count(String text) {
+        WordCountTable table = new WordCountTable();
+        WordTokenizer.tokenize(text, table);
+        return table;
+    }
+
+    @Test
+    void get_SameText_ShouldComputeOnce() {
+        HistogramCache cache = new HistogramCache(true, 1 << 20, 0);
+        AtomicInteger computations = new AtomicInteger();
+
+        WordCountTable first = cache.get("the sun shines over the lake", text -> {
+            computations.incrementAndGet();
+            return count(text);
+        });
+        WordCountTable second = cache.get("the sun shines over " + "the lake", text -> {
+            computations.incrementAndGet();
+            return count(text);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+        assertEquals(new HistogramCacheStats(1, 1, 0, 0, 1, first.memoryFootprint()), cache.stats());
+    }
+
+    @Test
+    void get_ThueMorseTexts_ShouldNotShareHistograms() {
+        // A Thue-Morse text and its complement collide under any polynomial hash modulo 2^64 with an odd base
+        StringBuilder text = new StringBuilder();
+        StringBuilder complement = new StringBuilder();
+        for (int i = 0; i < 4096; i++) {
+            boolean odd = Integer.bitCount(i) % 2 == 1;
+            text.append(odd ? 'b' : 'a');
+            complement.append(odd ? 'a' : 'b');
+        }
+        HistogramCache cache = new HistogramCache(true, 1 << 20, 0);
+
+        assertEquals(1, cache.get(text.toString(), HistogramCacheTests::count).count(text.toString()));
+        assertEquals(1, cache.get(complement.toString(), HistogramCacheTests::count).count(complement.toString()));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void get_OverWeightLimit_ShouldEvictLeastRecentlyUsed() {
+        long tableWeight = count("word").memoryFootprint();
+        HistogramCache cache = new HistogramCache(true, 2 * tableWeight, 0);
+
+        WordCountTable first = cache.get("first", HistogramCacheTests::count);
+        cache.get("second", HistogramCacheTests::count);
+        cache.get("first", HistogramCacheTests::count);
+        cache.get("third", HistogramCacheTests::count);
+
+        HistogramCacheStats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertSame(first, cache.get("first", HistogramCacheTests::count));
+    }
+
+    @Test
+    void get_ShortTexts_ShouldNotBeCached() {
+        HistogramCache cache = new HistogramCache(true, 1 << 20, 10);
+
+        cache.get("short", HistogramCacheTests::count);
+
+        assertEquals(new HistogramCacheStats(0, 0, 0, 0, 0, 0), cache.stats());
+    }
+
+    @Test
+    void get_ConcurrentIdenticalRequests_ShouldShareOneComputation() throws Exception {
+        HistogramCache cache = new HistogramCache(true, 1 << 20, 0);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<WordCountTable>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("shared text", text -> {
+                computations.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return count(text);
+            })));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get("shared text", text -> {
+                    computations.incrementAndGet();
+                    return count(text);
+                })));
+            }
+            while (cache.stats().coalesced() < 3) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            WordCountTable table = results.get(0).get();
+            for (Future<WordCountTable> result : results) {
+                assertSame(table, result.get());
+            }
+            assertEquals(1, computations.get());
+            assertEquals(3, cache.stats().coalesced());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
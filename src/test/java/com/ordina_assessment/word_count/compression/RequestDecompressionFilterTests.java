@@ -0,0 +1,136 @@
+package com.ordina_assessment.word_count.compression;
+
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.exception.MalformedRequestBodyException;
+import com.ordina_assessment.word_count.exception.RequestBodyTooLargeException;
+import com.ordina_assessment.word_count.exception.UnsupportedContentEncodingException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestDecompressionFilterTests {
+
+    private static byte[] encode(String encoding, byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static HttpServletRequest filter(RequestDecompressionFilter filter, String encoding, byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/wordcount/highest-frequency");
+        request.setContentType("text/plain");
+        request.addHeader("Content-Encoding", encoding);
+        request.setContent(body);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return (HttpServletRequest) chain.getRequest();
+    }
+
+    private static WordCountTable count(HttpServletRequest request) throws IOException {
+        WordCountTable table = new WordCountTable();
+        WordSources.of(request.getInputStream()).forEachWord(table);
+        return table;
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append("Word").append(random.nextInt(1_000)).append(random.nextInt(8) == 0 ? ".\n" : " ");
+        }
+        return text.toString();
+    }
+
+    @Test
+    void compressedBody_ShouldBeDecodedWhileRead() throws Exception {
+        RequestDecompressionFilter filter = new RequestDecompressionFilter(1 << 30, 100);
+        String text = randomText(new Random(97), 200_000);
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        WordCountTable expected = new WordCountTable();
+        WordTokenizer.tokenize(text, expected);
+
+        for (String encoding : new String[]{"gzip", "deflate"}) {
+            HttpServletRequest request = filter(filter, encoding, encode(encoding, utf8));
+            assertNull(request.getHeader("Content-Encoding"));
+            assertEquals(-1, request.getContentLengthLong());
+            WordCountTable actual = count(request);
+            assertEquals(expected.totalCount(), actual.totalCount(), encoding);
+            assertEquals(expected.maxCount(), actual.maxCount(), encoding);
+            assertEquals(expected.count("word7"), actual.count("word7"), encoding);
+        }
+    }
+
+    @Test
+    void decodedSize_ShouldBeLimited() throws Exception {
+        byte[] spaces = new byte[8 << 20];
+        Arrays.fill(spaces, (byte) ' ');
+        byte[] bomb = encode("gzip", spaces);
+
+        // Eight MiB of spaces compress about a thousandfold
+        assertThrows(RequestBodyTooLargeException.class,
+                () -> count(filter(new RequestDecompressionFilter(1 << 30, 100), "gzip", bomb)));
+        assertThrows(RequestBodyTooLargeException.class,
+                () -> count(filter(new RequestDecompressionFilter(1 << 20, 10_000), "gzip", bomb)));
+        assertEquals(0, count(filter(new RequestDecompressionFilter(1 << 30, 10_000), "gzip", bomb)).totalCount());
+    }
+
+    @Test
+    void invalidBody_ShouldBeRejected() throws Exception {
+        RequestDecompressionFilter filter = new RequestDecompressionFilter(1 << 30, 100);
+        byte[] gzip = encode("gzip", randomText(new Random(101), 1_000).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(MalformedRequestBodyException.class,
+                () -> count(filter(filter, "gzip", "plain text".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(MalformedRequestBodyException.class,
+                () -> count(filter(filter, "gzip", Arrays.copyOf(gzip, gzip.length / 2))));
+        assertThrows(UnsupportedContentEncodingException.class, () -> count(filter(filter, "zstd", gzip)));
+    }
+
+    @Test
+    void asynchronousRead_ShouldBeRejected() throws Exception {
+        RequestDecompressionFilter filter = new RequestDecompressionFilter(1 << 30, 100);
+        String text = randomText(new Random(103), 1_000);
+        HttpServletRequest request = filter(filter, "gzip", encode("gzip", text.getBytes(StandardCharsets.UTF_8)));
+        ServletInputStream body = request.getInputStream();
+
+        assertThrows(UnsupportedContentEncodingException.class, () -> body.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+            }
+
+            @Override
+            public void onAllDataRead() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        }));
+        WordCountTable expected = new WordCountTable();
+        WordTokenizer.tokenize(text, expected);
+        assertEquals(expected.totalCount(), count(request).totalCount());
+        assertTrue(body.isFinished());
+        assertTrue(body.isReady());
+    }
+}
@@ -0,0 +1,139 @@
+package com.ordina_assessment.word_count.distributed;
+
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.analyzer.model.IncrementalAnalysis;
+import com.ordina_assessment.word_count.exception.PeerRequestException;
+import com.ordina_assessment.word_count.observability.AnalyzerMetrics;
+import com.ordina_assessment.word_count.observability.SampledDebugLog;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScatterGatherAnalyzerTests {
+
+    private static final AnalyzerMetrics METRICS = new AnalyzerMetrics(new SimpleMeterRegistry());
+    private static final SampledDebugLog DEBUG_LOG = new SampledDebugLog(0, 0);
+
+    private final List<HttpServer> peers = new ArrayList<>();
+
+    /**
+     * Start a peer that counts shards like the partial histogram endpoint, or fails every shard.
+     */
+    private String startPeer(boolean failing) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/wordcount/partial-histogram", exchange -> {
+            boolean documentStart = !String.valueOf(exchange.getRequestURI().getQuery()).contains("documentStart=false");
+            WordCountTable table = new WordCountTable();
+            WordSources.of(exchange.getRequestBody(), documentStart).forEachWord(table);
+            byte[] body = PartialHistogram.encode(table);
+            exchange.sendResponseHeaders(failing ? 500 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        peers.add(server);
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @BeforeEach
+    void setUp() {
+        peers.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        peers.forEach(server -> server.stop(0));
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(random.nextBoolean() ? "Word" : "wörd").append((int) Math.abs(random.nextGaussian() * 200))
+                    .append(random.nextInt(5) == 0 ? ".. " : " ");
+        }
+        return text.toString();
+    }
+
+    private static WordCountTable count(String text) {
+        WordCountTable table = new WordCountTable();
+        WordTokenizer.tokenize(text, table);
+        return table;
+    }
+
+    @Test
+    void shardedText_ShouldMatchLocalCounts() throws Exception {
+        ScatterGatherAnalyzer analyzer = new ScatterGatherAnalyzer(
+                List.of(startPeer(false), startPeer(false)), 997, Duration.ofSeconds(10), METRICS, DEBUG_LOG);
+        Random random = new Random(71);
+        for (String text : List.of(randomText(random, 20_000), " leading delimiter", "", "one", ",")) {
+            WordCountTable expected = count(text);
+            assertEquals(expected.maxCount(), analyzer.calculateHighestFrequency(text), text);
+            assertEquals(expected.count("word7"), analyzer.calculateFrequencyForWord(text, "WORD7"));
+            assertEquals(expected.count(""), analyzer.calculateFrequencyForWord(text, ""));
+            assertEquals(TopWords.select(expected, 25), analyzer.calculateMostFrequentNWords(text, 25));
+        }
+    }
+
+    @Test
+    void streamedText_ShouldMatchLocalCounts() throws Exception {
+        ScatterGatherAnalyzer analyzer = new ScatterGatherAnalyzer(
+                List.of(startPeer(false), startPeer(false)), 4096, Duration.ofSeconds(10), METRICS, DEBUG_LOG);
+        String text = ", " + randomText(new Random(73), 20_000);
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        WordCountTable expected = count(text);
+
+        assertEquals(TopWords.select(expected, 40), analyzer.calculateMostFrequentNWords(WordSources.of(utf8), 40));
+
+        IncrementalAnalysis analysis = analyzer.startAnalysis();
+        for (int from = 0; from < utf8.length; from += 1000) {
+            analysis.feed(ByteBuffer.wrap(utf8, from, Math.min(1000, utf8.length - from)));
+        }
+        analysis.finish();
+        assertEquals(expected.maxCount(), analysis.highestFrequency());
+        assertEquals(expected.count(""), analysis.frequency(""));
+        assertEquals(TopWords.select(expected, 40), analysis.mostFrequentWords(40));
+    }
+
+    @Test
+    void failingPeer_ShouldFailAnalysis() throws Exception {
+        ScatterGatherAnalyzer analyzer = new ScatterGatherAnalyzer(
+                List.of(startPeer(false), startPeer(true)), 64, Duration.ofSeconds(10), METRICS, DEBUG_LOG);
+        String text = randomText(new Random(79), 1_000);
+        assertThrows(PeerRequestException.class, () -> analyzer.calculateHighestFrequency(text));
+    }
+
+    @Test
+    void partialHistogram_ShouldRoundTrip() throws Exception {
+        WordCountTable table = count(randomText(new Random(83), 5_000));
+        WordCountTable merged = new WordCountTable();
+        byte[] partial = PartialHistogram.encode(table);
+        PartialHistogram.mergeInto(partial, merged);
+        PartialHistogram.mergeInto(partial, merged);
+
+        assertEquals(table.size(), merged.size());
+        assertEquals(2 * table.totalCount(), merged.totalCount());
+        assertEquals(2 * table.maxCount(), merged.maxCount());
+        assertThrows(IOException.class,
+                () -> PartialHistogram.mergeInto(Arrays.copyOf(partial, partial.length - 1), merged));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ordina_assessment.word_count.index;
+
+import com.ordina_assessment.word_count.analyzer.TopWords;
+import com.ordina_assessment.word_count.analyzer.WordCountTable;
+import com.ordina_assessment.word_count.analyzer.WordSources;
+import com.ordina_assessment.word_count.analyzer.WordTokenizer;
+import com.ordina_assessment.word_count.exception.DocumentNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TermIndexTests {
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Skewed counts with many ties, and words sharing prefixes
+            text.append(random.nextBoolean() ? "Word" : "word_").append((int) Math.abs(random.nextGaussian() * 300))
+                    .append(random.nextInt(4) == 0 ? ", " : " ");
+        }
+        return text.toString();
+    }
+
+    @Test
+    void index_ShouldMatchCountTable(@TempDir Path directory) throws Exception {
+        Random random = new Random(61);
+        String text = randomText(random, 50_000);
+        WordCountTable table = new WordCountTable();
+        WordTokenizer.tokenize(text, table);
+
+        Path path = directory.resolve("text.idx");
+        TermIndex.write(table, path);
+        TermIndex index = TermIndex.open(path);
+
+        assertEquals(table.size(), index.size());
+        assertEquals(table.totalCount(), index.totalCount());
+        assertEquals(table.maxCount(), index.highestFrequency());
+        for (String word : List.of("word0", "WORD17", "word_299", "word_", "word100000", "a", "K")) {
+            assertEquals(table.count(word), index.frequency(word), word);
+        }
+        for (int n : new int[]{1, 10, 250, table.size(), table.size() + 5}) {
+            assertEquals(TopWords.select(table, n), index.mostFrequentNWords(n));
+        }
+    }
+
+    @Test
+    void registry_ShouldLoadIndexesWrittenBeforeRestart(@TempDir Path directory) throws Exception {
+        String text = randomText(new Random(67), 5_000);
+        WordCountTable table = new WordCountTable();
+        WordTokenizer.tokenize(text, table);
+
+        new DocumentIndexRegistry(directory.toString())
+                .put("corpus-1", WordSources.of(text.getBytes(StandardCharsets.UTF_8)));
+        DocumentIndexRegistry restarted = new DocumentIndexRegistry(directory.toString());
+
+        assertEquals(table.maxCount(), restarted.get("corpus-1").highestFrequency());
+        assertEquals(table.count("word42"), restarted.get("corpus-1").frequency("word42"));
+        assertEquals(TopWords.select(table, 20), restarted.get("corpus-1").mostFrequentNWords(20));
+
+        restarted.delete("corpus-1");
+        assertThrows(DocumentNotFoundException.class, () -> restarted.get("corpus-1"));
+        assertThrows(DocumentNotFoundException.class, () -> restarted.delete("corpus-1"));
+        assertThrows(IllegalArgumentException.class, () -> restarted.get("../corpus-1"));
+    }
+
+    @Test
+    void registry_DeleteRacingLoad_ShouldLeaveDocumentNotFound(@TempDir Path directory) throws Exception {
+        byte[] text = randomText(new Random(71), 500).getBytes(StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 200; i++) {
+                new DocumentIndexRegistry(directory.toString()).put("corpus-1", WordSources.of(text));
+                // A registry that has not mapped the index yet, like after a restart
+                DocumentIndexRegistry restarted = new DocumentIndexRegistry(directory.toString());
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> load = executor.submit(() -> {
+                    start.await();
+                    try {
+                        restarted.get("corpus-1");
+                    } catch (DocumentNotFoundException e) {
+                        // The delete came first
+                    }
+                    return null;
+                });
+                Future<?> delete = executor.submit(() -> {
+                    start.await();
+                    restarted.delete("corpus-1");
+                    return null;
+                });
+                start.countDown();
+                load.get();
+                delete.get();
+
+                assertThrows(DocumentNotFoundException.class, () -> restarted.get("corpus-1"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ordina_assessment.word_count.session;
+
+import com.ordina_assessment.word_count.analyzer.WordFrequencyImpl;
+import com.ordina_assessment.word_count.analyzer.model.WordFrequency;
+import com.ordina_assessment.word_count.exception.SessionLimitExceededException;
+import com.ordina_assessment.word_count.exception.TooManySessionsException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordCountSessionTests {
+
+    private static List<WordFrequency> referenceMostFrequentNWords(String text, int n) {
+        return Arrays.stream(text.split("\\W+"))
+                .filter(w -> !w.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.groupingBy(w -> w, Collectors.summingInt(w -> 1)))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(n)
+                .map(e -> new WordFrequencyImpl(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void appendedChunks_ShouldMatchCountingTheConcatenatedText() throws Exception {
+        Random random = new Random(41);
+        WordCountSession session = new WordCountSession("test", Long.MAX_VALUE);
+        StringBuilder text = new StringBuilder();
+        for (int chunk = 0; chunk < 200; chunk++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                // Chunks end in the middle of words, which continue in the next chunk
+                builder.append("Word").append((int) Math.abs(random.nextGaussian() * 30)).append(random.nextBoolean() ? " " : ", ");
+            }
+            builder.setLength(builder.length() - random.nextInt(3));
+            String appended = builder.toString();
+            session.append(new StringReader(appended));
+            text.append(appended);
+
+            // The trailing word is counted as it stands, although it may continue in the next chunk
+            String counted = text.toString();
+            for (int n : new int[]{1, 5, 40, 100}) {
+                assertEquals(referenceMostFrequentNWords(counted, n), session.mostFrequentNWords(n), "n = " + n);
+            }
+            assertEquals(referenceMostFrequentNWords(counted, 1).get(0).frequency(), session.highestFrequency());
+        }
+        assertEquals((int) Arrays.stream(text.toString().split("\\W+"))
+                .filter("word7"::equalsIgnoreCase).count(), session.frequency("WORD7"));
+    }
+
+    @Test
+    void append_OverMemoryLimit_ShouldThrow() {
+        WordCountSession session = new WordCountSession("test", 4096);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            text.append("word").append(i).append(' ');
+        }
+
+        assertThrows(SessionLimitExceededException.class, () -> session.append(new StringReader(text.toString())));
+    }
+
+    @Test
+    void trailingWord_ShouldBeCountedUntilItContinues() throws Exception {
+        WordCountSession session = new WordCountSession("test", Long.MAX_VALUE);
+        session.append(new StringReader("bar foo bar"));
+
+        assertEquals(2, session.frequency("bar"));
+        assertEquals(2, session.highestFrequency());
+        assertEquals(List.of(new WordFrequencyImpl("bar", 2), new WordFrequencyImpl("foo", 1)), session.mostFrequentNWords(5));
+
+        session.append(new StringReader("ry foo"));
+        assertEquals(1, session.frequency("bar"));
+        assertEquals(1, session.frequency("barry"));
+        assertEquals(List.of(new WordFrequencyImpl("foo", 2)), session.mostFrequentNWords(1));
+    }
+
+    @Test
+    void append_WordWithoutDelimiter_ShouldStopAtMemoryLimit() throws Exception {
+        WordCountSession session = new WordCountSession("test", 1 << 16);
+        char[] letters = new char[1 << 12];
+        Arrays.fill(letters, 'a');
+
+        assertThrows(SessionLimitExceededException.class, () -> {
+            for (int i = 0; i < 1 << 10; i++) {
+                session.append(new StringReader(new String(letters)));
+            }
+        });
+        assertTrue(session.memoryFootprint() <= 1 << 16);
+
+        // The unfinished word is discarded, and the session accepts no further chunks
+        assertEquals(0, session.highestFrequency());
+        assertThrows(SessionLimitExceededException.class, () -> session.append(new StringReader(" b ")));
+        assertEquals(0, session.frequency("b"));
+    }
+
+    @Test
+    void registry_ConcurrentCreates_ShouldNotExceedMaxSessions() throws Exception {
+        WordCountSessionRegistry registry = new WordCountSessionRegistry(Duration.ofMinutes(1), 10, 1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> creates = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                creates.add(executor.submit(() -> {
+                    try {
+                        registry.create();
+                        return true;
+                    } catch (TooManySessionsException e) {
+                        return false;
+                    }
+                }));
+            }
+            int created = 0;
+            for (Future<Boolean> create : creates) {
+                created += create.get() ? 1 : 0;
+            }
+            assertEquals(10, created);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}